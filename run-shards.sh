@@ -0,0 +1,22 @@
+#!/bin/sh
+# Параллельный запуск всех шардов тестов на одной машине: ./run-shards.sh <число шардов> [доп. аргументы mvn]
+# Каждый шард - отдельная JVM surefire со своим каталогом отчётов, общее время ~ самый долгий шард
+set -e
+SHARDS=${1:?укажите число шардов}
+shift
+
+mvn -B -q test-compile "$@"
+
+PIDS=""
+i=0
+while [ "$i" -lt "$SHARDS" ]; do
+    mvn -B -Pshard -Dshard.count="$SHARDS" -Dshard.index="$i" "$@" surefire:test > "target/shard-$i.log" 2>&1 &
+    PIDS="$PIDS $!"
+    i=$((i + 1))
+done
+
+STATUS=0
+for pid in $PIDS; do
+    wait "$pid" || STATUS=1
+done
+exit $STATUS
@@ -0,0 +1,33 @@
+package client;
+
+// Имя теста или сценария, от имени которого поток сейчас обращается к API,
+// и общий для JVM наблюдатель за вызовами
+public final class ApiCallContext {
+
+    private static final ThreadLocal<String> SCENARIO = new ThreadLocal<>();
+    private static volatile ApiCallObserver observer;
+
+    private ApiCallContext() {
+    }
+
+    public static void setScenario(String scenario) {
+        SCENARIO.set(scenario);
+    }
+
+    public static String getScenario() {
+        return SCENARIO.get();
+    }
+
+    public static void clear() {
+        SCENARIO.remove();
+    }
+
+    // null отключает наблюдение
+    public static void setObserver(ApiCallObserver apiCallObserver) {
+        observer = apiCallObserver;
+    }
+
+    public static ApiCallObserver getObserver() {
+        return observer;
+    }
+}
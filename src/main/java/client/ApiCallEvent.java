@@ -0,0 +1,46 @@
+package client;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// JFR-событие на каждый вызов ApiClient. Порог задаётся в .jfc или через
+// Recording.enable("stellarburgers.ApiCall").withThreshold(...), без записи JFR событие ничего не стоит
+@Name("stellarburgers.ApiCall")
+@Label("API Call")
+@Category({"Stellar Burgers", "ApiClient"})
+@Description("HTTP-вызов Stellar Burgers API через ApiClient")
+@StackTrace(false)
+@Threshold("0 ms")
+public class ApiCallEvent extends Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Method")
+    String method;
+
+    @Label("Base URL")
+    String baseUrl;
+
+    @Label("Status")
+    @Description("HTTP-статус ответа, 0 - ответ не получен")
+    int status;
+
+    @Label("Request Size")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Size")
+    @DataAmount
+    long responseBytes;
+
+    @Label("Scenario")
+    @Description("Имя теста или нагрузочного сценария из ApiCallContext")
+    String scenario;
+}
@@ -0,0 +1,12 @@
+package client;
+
+// Наблюдатель за обращениями ApiClient: какие операции вызываются и какие модели участвуют.
+// Нужен инструментам вокруг тестов (например, записи влияния), сам ApiClient от него не зависит
+public interface ApiCallObserver {
+
+    // operation - имя метода ApiClient, requestBody - тело запроса до сериализации или null
+    void apiCall(String operation, Object requestBody);
+
+    // Тело ответа разобрано в модель
+    void modelDecoded(Class<?> modelClass);
+}
@@ -1,8 +1,17 @@
 package client;
 
 import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.RequestSpecification;
+import metrics.EndpointMetrics;
+import metrics.MetricsRegistry;
 import model.User;
 import model.UserCredentials;
+import routing.Endpoint;
+import routing.EndpointPool;
+import schema.ApiSchemas;
+
+import java.nio.charset.StandardCharsets;
 
 import static io.restassured.RestAssured.given;
 
@@ -10,84 +19,151 @@ public class ApiClient {
 
     public static final String BASE_URL = "https://stellarburgers.education-services.ru/";
 
+    private final EndpointPool endpoints;
+    private final MetricsRegistry metrics;
+    private final ApiSchemas schemas;
+
+    public ApiClient() {
+        this(BASE_URL);
+    }
+
+    // Клиент для другого стенда (staging, локальная заглушка) или нескольких реплик через запятую
+    public ApiClient(String baseUrl) {
+        this(baseUrl, MetricsRegistry.global());
+    }
+
+    public ApiClient(String baseUrl, MetricsRegistry metrics) {
+        this(baseUrl, metrics, ApiSchemas.defaults());
+    }
+
+    public ApiClient(String baseUrl, MetricsRegistry metrics, ApiSchemas schemas) {
+        this(EndpointPool.parse(baseUrl), metrics, schemas);
+    }
+
+    // Запросы распределяются между стендами пула по его политике балансировки
+    public ApiClient(EndpointPool endpoints, MetricsRegistry metrics) {
+        this(endpoints, metrics, ApiSchemas.defaults());
+    }
+
+    public ApiClient(EndpointPool endpoints, MetricsRegistry metrics, ApiSchemas schemas) {
+        this.endpoints = endpoints;
+        this.metrics = metrics;
+        this.schemas = schemas;
+    }
+
+    public EndpointPool getEndpoints() {
+        return endpoints;
+    }
+
 
     // Создание нового пользователя
     public Response createUser(User user) {
-        return given()
-                .baseUri(BASE_URL)
+        return send("createUser", user, "POST", "api/auth/register", given()
                 .contentType("application/json")
-                .body(user)
-                .when()
-                .post("api/auth/register");
+                .body(user));
     }
 
     // Удаление пользователя
     public Response deleteUser(String accessToken) {
-        return given()
-                .baseUri(BASE_URL)
-                .header("Authorization", accessToken)
-                .when()
-                .delete("api/auth/user");
+        return send("deleteUser", null, "DELETE", "api/auth/user", given()
+                .header("Authorization", accessToken));
     }
 
     // Логин пользователя
     public Response loginUser(UserCredentials credentials) {
-        return given()
-                .baseUri(BASE_URL)
+        return send("loginUser", credentials, "POST", "api/auth/login", given()
                 .contentType("application/json")
-                .body(credentials)
-                .when()
-                .post("api/auth/login");
+                .body(credentials));
     }
 
     // Обновление данных пользователя
     public Response updateUser(String accessToken, User user) {
-        return given()
-                .baseUri(BASE_URL)
+        return send("updateUser", user, "PATCH", "api/auth/user", given()
                 .header("Authorization", accessToken)
                 .contentType("application/json")
-                .body(user)
-                .when()
-                .patch("api/auth/user");
+                .body(user));
     }
 
     // Получение данных пользователя
     public Response getUser(String accessToken) {
-        return given()
-                .baseUri(BASE_URL)
-                .header("Authorization", accessToken)
-                .when()
-                .get("api/auth/user");
+        return send("getUser", null, "GET", "api/auth/user", given()
+                .header("Authorization", accessToken));
     }
 
     // Создание заказа
     public Response createOrder(String accessToken, String requestBody) {
-        return given()
-                .baseUri(BASE_URL)
+        return send("createOrder", requestBody, "POST", "api/orders", given()
                 .header("Authorization", accessToken)
                 .contentType("application/json")
-                .body(requestBody)
-                .when()
-                .post("api/orders");
+                .body(requestBody));
     }
 
     // Получение заказов пользователя
     public Response getUserOrders(String accessToken) {
-        return given()
-                .baseUri(BASE_URL)
-                .header("Authorization", accessToken)
-                .when()
-                .get("api/orders");
+        return send("getUserOrders", null, "GET", "api/orders", given()
+                .header("Authorization", accessToken));
     }
 
     public Response getIngredients() {
-        return given()
-                .baseUri(BASE_URL)
-                .contentType("application/json")
-                .when()
-                .get("api/ingredients");
+        return send("getIngredients", null, "GET", "api/ingredients", given()
+                .contentType("application/json"));
+    }
+
+    // Общая точка отправки запроса: наблюдатель, JFR-событие, метрики и проверка ответа по схеме эндпоинта
+    private Response send(String operation, Object requestBody, String method, String path, RequestSpecification request) {
+        ApiCallObserver observer = ApiCallContext.getObserver();
+        if (observer != null) {
+            observer.apiCall(operation, requestBody);
+        }
+        EndpointMetrics endpointMetrics = metrics.endpoint(method, path);
+        Response response = execute(method, path, request, endpointMetrics);
+        schemas.validate(method, path, response, endpointMetrics);
+        return response;
     }
 
+    private Response execute(String method, String path, RequestSpecification request, EndpointMetrics endpointMetrics) {
+        ApiCallEvent event = new ApiCallEvent();
+        Endpoint endpoint = endpoints.acquire();
+        endpointMetrics.requestStarted();
+        long startNanos = System.nanoTime();
+        event.begin();
+        Response response = null;
+        try {
+            response = request
+                    .baseUri(endpoint.getBaseUrl())
+                    .when()
+                    .request(method, path);
+            return response;
+        } finally {
+            event.end();
+            int status = response == null ? 0 : response.statusCode();
+            long durationNanos = System.nanoTime() - startNanos;
+            endpointMetrics.requestFinished(status, durationNanos);
+            endpoints.release(endpoint, status, durationNanos);
+            if (event.shouldCommit()) {
+                event.endpoint = path;
+                event.method = method;
+                event.baseUrl = endpoint.getBaseUrl();
+                event.scenario = ApiCallContext.getScenario();
+                event.requestBytes = requestSize(request);
+                if (response != null) {
+                    event.status = response.statusCode();
+                    event.responseBytes = response.asByteArray().length;
+                }
+                event.commit();
+            }
+        }
+    }
 
+    private static long requestSize(RequestSpecification request) {
+        Object body = ((FilterableRequestSpecification) request).getBody();
+        if (body instanceof String) {
+            return ((String) body).getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        }
+        return 0;
+    }
 
 }
@@ -0,0 +1,93 @@
+package client;
+
+import com.google.gson.Gson;
+import io.restassured.response.Response;
+import model.ErrorResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+// Ответ эндпоинта, тело которого разбирается один раз в неизменяемую модель.
+// Разбор ленивый: сценариям нагрузки, которым нужен только статус, JSON не декодируется вовсе.
+// Исходный Response остаётся доступен для Allure и низкоуровневых проверок.
+// Результат можно разбирать из нескольких потоков: тело декодируется ровно один раз
+public final class ApiResult<T> {
+
+    private static final Gson GSON = new Gson();
+
+    private final Response response;
+    private final Class<T> bodyType;
+    private volatile T body;
+    private volatile ErrorResponse error;
+
+    ApiResult(Response response, Class<T> bodyType) {
+        this.response = response;
+        this.bodyType = bodyType;
+    }
+
+    public Response getResponse() {
+        return response;
+    }
+
+    public int statusCode() {
+        return response.statusCode();
+    }
+
+    public boolean isSuccess() {
+        int status = response.statusCode();
+        return status >= 200 && status < 300;
+    }
+
+    // Тело успешного ответа; для ошибки бросает исключение со статусом и сообщением сервера
+    public T body() {
+        if (!isSuccess()) {
+            ErrorResponse error = error();
+            throw new IllegalStateException("Ожидался успешный ответ, получен " + statusCode()
+                    + (error == null ? "" : ": " + error.getMessage()));
+        }
+        T decoded = body;
+        if (decoded == null) {
+            synchronized (this) {
+                if (body == null) {
+                    body = decode(bodyType);
+                }
+                decoded = body;
+            }
+        }
+        return decoded;
+    }
+
+    // Тело ответа с ошибкой; null для успешного ответа и для ошибок без JSON (5xx с HTML)
+    public ErrorResponse error() {
+        if (isSuccess() || !isJson()) {
+            return null;
+        }
+        ErrorResponse decoded = error;
+        if (decoded == null) {
+            synchronized (this) {
+                if (error == null) {
+                    error = decode(ErrorResponse.class);
+                }
+                decoded = error;
+            }
+        }
+        return decoded;
+    }
+
+    private boolean isJson() {
+        String contentType = response.contentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json");
+    }
+
+    private <V> V decode(Class<V> type) {
+        ApiCallObserver observer = ApiCallContext.getObserver();
+        if (observer != null) {
+            observer.modelDecoded(type);
+        }
+        Reader reader = new InputStreamReader(new ByteArrayInputStream(response.asByteArray()), StandardCharsets.UTF_8);
+        return GSON.fromJson(reader, type);
+    }
+}
@@ -0,0 +1,68 @@
+package client;
+
+import model.AuthResponse;
+import model.IngredientsResponse;
+import model.MessageResponse;
+import model.OrderResponse;
+import model.OrdersResponse;
+import model.User;
+import model.UserCredentials;
+import model.UserResponse;
+
+// ApiClient с типизированными ответами: каждый эндпоинт возвращает ApiResult с моделью тела.
+// Запросы, метрики и проверка схемы остаются в ApiClient
+public class TypedApiClient {
+
+    private final ApiClient apiClient;
+
+    public TypedApiClient() {
+        this(new ApiClient());
+    }
+
+    public TypedApiClient(ApiClient apiClient) {
+        this.apiClient = apiClient;
+    }
+
+    public ApiClient getApiClient() {
+        return apiClient;
+    }
+
+    // Создание нового пользователя
+    public ApiResult<AuthResponse> createUser(User user) {
+        return new ApiResult<>(apiClient.createUser(user), AuthResponse.class);
+    }
+
+    // Удаление пользователя
+    public ApiResult<MessageResponse> deleteUser(String accessToken) {
+        return new ApiResult<>(apiClient.deleteUser(accessToken), MessageResponse.class);
+    }
+
+    // Логин пользователя
+    public ApiResult<AuthResponse> loginUser(UserCredentials credentials) {
+        return new ApiResult<>(apiClient.loginUser(credentials), AuthResponse.class);
+    }
+
+    // Обновление данных пользователя
+    public ApiResult<UserResponse> updateUser(String accessToken, User user) {
+        return new ApiResult<>(apiClient.updateUser(accessToken, user), UserResponse.class);
+    }
+
+    // Получение данных пользователя
+    public ApiResult<UserResponse> getUser(String accessToken) {
+        return new ApiResult<>(apiClient.getUser(accessToken), UserResponse.class);
+    }
+
+    // Создание заказа
+    public ApiResult<OrderResponse> createOrder(String accessToken, String requestBody) {
+        return new ApiResult<>(apiClient.createOrder(accessToken, requestBody), OrderResponse.class);
+    }
+
+    // Получение заказов пользователя
+    public ApiResult<OrdersResponse> getUserOrders(String accessToken) {
+        return new ApiResult<>(apiClient.getUserOrders(accessToken), OrdersResponse.class);
+    }
+
+    public ApiResult<IngredientsResponse> getIngredients() {
+        return new ApiResult<>(apiClient.getIngredients(), IngredientsResponse.class);
+    }
+}
@@ -0,0 +1,383 @@
+package faults;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Встраиваемый HTTP-прокси с внесением неисправностей между ApiClient и любым стендом (реальным или заглушкой).
+// Для каждого маршрута задаются задержка, разброс, ограничение скорости, доля сбросов соединения и ошибок 5xx/429.
+// Работает на обычных сокетах: сброс - настоящий TCP RST, ограничение скорости - дозированная запись тела ответа.
+// Использование: new ApiClient(proxy.baseUrl()), затем proxy.route("api/orders").errorRate(503, 0.2)
+public class FaultProxy implements AutoCloseable {
+
+    private static final int WRITE_SLICE_BYTES = 512;
+    // Заголовки одного соединения, которые прокси не передаёт дальше
+    private static final Set<String> HOP_BY_HOP = Set.of("connection", "keep-alive", "proxy-connection",
+            "transfer-encoding", "te", "trailer", "upgrade", "host", "content-length", "expect");
+
+    private final String targetUrl;
+    private final Random random;
+    private final ServerSocket serverSocket;
+    private final HttpClient httpClient;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "fault-proxy");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<RouteFaults> routes = new CopyOnWriteArrayList<>();
+    private final List<Socket> connections = new CopyOnWriteArrayList<>();
+
+    public FaultProxy(String targetUrl) throws IOException {
+        this(targetUrl, new Random().nextLong());
+    }
+
+    // Фиксированный seed делает последовательность решений воспроизводимой при последовательных запросах
+    public FaultProxy(String targetUrl, long seed) throws IOException {
+        this.targetUrl = targetUrl.endsWith("/") ? targetUrl.substring(0, targetUrl.length() - 1) : targetUrl;
+        this.random = new Random(seed);
+        this.serverSocket = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+        executor.execute(this::acceptLoop);
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + serverSocket.getLocalPort() + "/";
+    }
+
+    // Неисправности маршрута; повторный вызов с тем же шаблоном возвращает те же настройки.
+    // Запрос получает неисправности первого подходящего маршрута в порядке объявления
+    public synchronized RouteFaults route(String pattern) {
+        for (RouteFaults route : routes) {
+            if (route.getPattern().equals(pattern)) {
+                return route;
+            }
+        }
+        RouteFaults route = new RouteFaults(pattern);
+        routes.add(route);
+        return route;
+    }
+
+    public void clearFaults() {
+        routes.forEach(RouteFaults::clear);
+    }
+
+    private RouteFaults routeFor(String path) {
+        for (RouteFaults route : routes) {
+            if (route.matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.add(socket);
+                executor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    // Соединение клиента держится, пока он шлёт запросы (keep-alive)
+    private void serve(Socket socket) {
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            while (true) {
+                ProxyRequest request = ProxyRequest.read(in);
+                if (request == null || !handle(socket, request, out) || request.closeRequested()) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // клиент закрыл соединение или получил сброс
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    // false - соединение сброшено и дальше не обслуживается
+    private boolean handle(Socket socket, ProxyRequest request, OutputStream out) throws IOException, InterruptedException {
+        RouteFaults route = routeFor(request.path());
+        if (route == null) {
+            writeResponse(out, forward(request), 0);
+            return true;
+        }
+        int decision;
+        long delayMillis;
+        synchronized (random) {
+            decision = route.decide(random);
+            delayMillis = route.sampleDelayMillis(random);
+        }
+        if (delayMillis > 0) {
+            Thread.sleep(delayMillis);
+        }
+        if (decision < 0) {
+            socket.setSoLinger(true, 0);
+            socket.close();
+            return false;
+        }
+        Upstream response = decision > 0 ? injectedError(decision) : forward(request);
+        writeResponse(out, response, route.getBytesPerSecond());
+        return true;
+    }
+
+    private Upstream forward(ProxyRequest request) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(targetUrl + request.target))
+                .timeout(Duration.ofMinutes(2))
+                .method(request.method, request.body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(request.body));
+        for (String[] header : request.headers) {
+            if (!HOP_BY_HOP.contains(header[0].toLowerCase(Locale.ROOT))) {
+                builder.header(header[0], header[1]);
+            }
+        }
+        try {
+            HttpResponse<byte[]> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            List<String[]> headers = new ArrayList<>();
+            for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+                if (!HOP_BY_HOP.contains(header.getKey().toLowerCase(Locale.ROOT)) && !header.getKey().startsWith(":")) {
+                    for (String value : header.getValue()) {
+                        headers.add(new String[]{header.getKey(), value});
+                    }
+                }
+            }
+            return new Upstream(response.statusCode(), headers, response.body());
+        } catch (IOException e) {
+            return new Upstream(502, List.<String[]>of(new String[]{"Content-Type", "text/plain; charset=utf-8"}),
+                    ("Целевой сервис недоступен: " + e).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // Тело совпадает с форматом ошибок API, чтобы 429 проходил проверку схемы, а 5xx - разбор ErrorResponse
+    private static Upstream injectedError(int status) {
+        List<String[]> headers = new ArrayList<>();
+        headers.add(new String[]{"Content-Type", "application/json; charset=utf-8"});
+        if (status == 429) {
+            headers.add(new String[]{"Retry-After", "1"});
+        }
+        byte[] body = ("{\"success\":false,\"message\":\"Injected fault " + status + "\"}").getBytes(StandardCharsets.UTF_8);
+        return new Upstream(status, headers, body);
+    }
+
+    private static void writeResponse(OutputStream out, Upstream response, long bytesPerSecond) throws IOException, InterruptedException {
+        StringBuilder head = new StringBuilder("HTTP/1.1 ").append(response.status).append(' ')
+                .append(reason(response.status)).append("\r\n");
+        for (String[] header : response.headers) {
+            head.append(header[0]).append(": ").append(header[1]).append("\r\n");
+        }
+        head.append("Content-Length: ").append(response.body.length).append("\r\n\r\n");
+        out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        if (bytesPerSecond <= 0) {
+            out.write(response.body);
+            out.flush();
+            return;
+        }
+        out.flush();
+        long startNanos = System.nanoTime();
+        for (int offset = 0; offset < response.body.length; offset += WRITE_SLICE_BYTES) {
+            int length = Math.min(WRITE_SLICE_BYTES, response.body.length - offset);
+            // Пауза перед записью: последний кусок тоже приходит не раньше, чем позволяет скорость
+            long dueNanos = startNanos + (offset + length) * 1_000_000_000L / bytesPerSecond;
+            long waitNanos = dueNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+            }
+            out.write(response.body, offset, length);
+            out.flush();
+        }
+    }
+
+    private static String reason(int status) {
+        switch (status) {
+            case 200:
+                return "OK";
+            case 400:
+                return "Bad Request";
+            case 401:
+                return "Unauthorized";
+            case 403:
+                return "Forbidden";
+            case 404:
+                return "Not Found";
+            case 429:
+                return "Too Many Requests";
+            case 500:
+                return "Internal Server Error";
+            case 502:
+                return "Bad Gateway";
+            case 503:
+                return "Service Unavailable";
+            case 504:
+                return "Gateway Timeout";
+            default:
+                return "Status";
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // уже закрыт
+        }
+        for (Socket socket : connections) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // закрываем остальные
+            }
+        }
+        executor.shutdownNow();
+    }
+
+    private static final class Upstream {
+        private final int status;
+        private final List<String[]> headers;
+        private final byte[] body;
+
+        private Upstream(int status, List<String[]> headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    // Запрос HTTP/1.1 от клиента: строка запроса, заголовки и тело по Content-Length или chunked
+    private static final class ProxyRequest {
+        private final String method;
+        private final String target;
+        private final List<String[]> headers;
+        private final byte[] body;
+
+        private ProxyRequest(String method, String target, List<String[]> headers, byte[] body) {
+            this.method = method;
+            this.target = target;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        // null - клиент закрыл соединение между запросами
+        static ProxyRequest read(InputStream in) throws IOException {
+            String requestLine = readLine(in);
+            if (requestLine == null || requestLine.isEmpty()) {
+                return null;
+            }
+            String[] parts = requestLine.split(" ");
+            if (parts.length < 3) {
+                throw new IOException("Некорректная строка запроса: " + requestLine);
+            }
+            List<String[]> headers = new ArrayList<>();
+            long contentLength = 0;
+            boolean chunked = false;
+            for (String line = readLine(in); line != null && !line.isEmpty(); line = readLine(in)) {
+                int colon = line.indexOf(':');
+                if (colon <= 0) {
+                    continue;
+                }
+                String name = line.substring(0, colon).trim();
+                String value = line.substring(colon + 1).trim();
+                headers.add(new String[]{name, value});
+                if (name.equalsIgnoreCase("Content-Length")) {
+                    contentLength = Long.parseLong(value);
+                } else if (name.equalsIgnoreCase("Transfer-Encoding") && value.toLowerCase(Locale.ROOT).contains("chunked")) {
+                    chunked = true;
+                }
+            }
+            byte[] body = chunked ? readChunked(in) : readFully(in, (int) contentLength);
+            return new ProxyRequest(parts[0], parts[1], headers, body);
+        }
+
+        // Путь в том виде, в каком его передаёт ApiClient: без ведущего слеша и строки запроса
+        String path() {
+            int query = target.indexOf('?');
+            String path = query < 0 ? target : target.substring(0, query);
+            return path.startsWith("/") ? path.substring(1) : path;
+        }
+
+        boolean closeRequested() {
+            for (String[] header : headers) {
+                if (header[0].equalsIgnoreCase("Connection") && header[1].equalsIgnoreCase("close")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static byte[] readChunked(InputStream in) throws IOException {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            while (true) {
+                String sizeLine = readLine(in);
+                if (sizeLine == null) {
+                    throw new IOException("Соединение закрыто посреди chunked-тела");
+                }
+                int extension = sizeLine.indexOf(';');
+                int size = Integer.parseInt((extension < 0 ? sizeLine : sizeLine.substring(0, extension)).trim(), 16);
+                if (size == 0) {
+                    for (String trailer = readLine(in); trailer != null && !trailer.isEmpty(); trailer = readLine(in)) {
+                        // трейлеры не передаём
+                    }
+                    return body.toByteArray();
+                }
+                body.write(readFully(in, size));
+                readLine(in);
+            }
+        }
+
+        private static byte[] readFully(InputStream in, int length) throws IOException {
+            byte[] bytes = in.readNBytes(length);
+            if (bytes.length < length) {
+                throw new IOException("Соединение закрыто посреди тела запроса");
+            }
+            return bytes;
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            StringBuilder line = new StringBuilder();
+            int b = in.read();
+            if (b < 0) {
+                return null;
+            }
+            for (; b >= 0 && b != '\n'; b = in.read()) {
+                if (b != '\r') {
+                    line.append((char) b);
+                }
+            }
+            return line.toString();
+        }
+    }
+}
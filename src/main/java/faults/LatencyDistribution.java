@@ -0,0 +1,39 @@
+package faults;
+
+import java.time.Duration;
+import java.util.Random;
+
+// Распределение добавочной задержки ответа, значения в миллисекундах
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    long sampleMillis(Random random);
+
+    static LatencyDistribution none() {
+        return random -> 0;
+    }
+
+    static LatencyDistribution fixed(Duration delay) {
+        long millis = delay.toMillis();
+        return random -> millis;
+    }
+
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        long from = min.toMillis();
+        long spread = max.toMillis() - from;
+        return random -> from + (long) (random.nextDouble() * spread);
+    }
+
+    // Нормальное распределение, отрицательные значения обрезаются до нуля
+    static LatencyDistribution normal(Duration mean, Duration standardDeviation) {
+        double meanMillis = mean.toMillis();
+        double deviationMillis = standardDeviation.toMillis();
+        return random -> Math.max(0, Math.round(meanMillis + random.nextGaussian() * deviationMillis));
+    }
+
+    // Логнормальное распределение с длинным хвостом, как у реальных задержек: медиана и sigma логарифма
+    static LatencyDistribution logNormal(Duration median, double sigma) {
+        double mu = Math.log(Math.max(1, median.toMillis()));
+        return random -> Math.round(Math.exp(mu + random.nextGaussian() * sigma));
+    }
+}
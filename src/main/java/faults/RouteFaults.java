@@ -0,0 +1,122 @@
+package faults;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Неисправности одного маршрута прокси. Настройки можно менять на лету, в том числе посреди нагрузки.
+// Маршрут задаётся путём ApiClient: "api/orders" - точное совпадение, "api/auth/*" - префикс, "*" - все запросы
+public class RouteFaults {
+
+    private final String pattern;
+    private volatile LatencyDistribution latency = LatencyDistribution.none();
+    private volatile long jitterMillis;
+    private volatile long bytesPerSecond;
+    private volatile double resetRate;
+    private final Map<Integer, Double> errorRates = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+
+    RouteFaults(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public RouteFaults latency(LatencyDistribution latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    // Равномерный разброс ±jitter поверх распределения задержки
+    public RouteFaults jitter(Duration jitter) {
+        this.jitterMillis = jitter.toMillis();
+        return this;
+    }
+
+    // Ограничение скорости отдачи тела ответа, 0 - без ограничения
+    public RouteFaults bandwidth(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        return this;
+    }
+
+    // Доля запросов, на которые прокси отвечает TCP RST без обращения к целевому сервису
+    public RouteFaults resetRate(double rate) {
+        this.resetRate = rate;
+        return this;
+    }
+
+    // Доля запросов, на которые прокси сам отвечает статусом status (5xx, 429)
+    public RouteFaults errorRate(int status, double rate) {
+        errorRates.put(status, rate);
+        return this;
+    }
+
+    public RouteFaults clear() {
+        latency = LatencyDistribution.none();
+        jitterMillis = 0;
+        bytesPerSecond = 0;
+        resetRate = 0;
+        errorRates.clear();
+        return this;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getInjectedErrors() {
+        return injectedErrors.sum();
+    }
+
+    public long getResets() {
+        return resets.sum();
+    }
+
+    boolean matches(String path) {
+        if (pattern.equals("*")) {
+            return true;
+        }
+        if (pattern.endsWith("*")) {
+            return path.startsWith(pattern.substring(0, pattern.length() - 1));
+        }
+        return path.equals(pattern);
+    }
+
+    long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    long sampleDelayMillis(Random random) {
+        long delay = latency.sampleMillis(random);
+        long jitter = jitterMillis;
+        if (jitter > 0) {
+            delay += (long) ((random.nextDouble() * 2 - 1) * jitter);
+        }
+        return Math.max(0, delay);
+    }
+
+    // Решение по запросу: 0 - пропустить к целевому сервису, -1 - сбросить соединение, иначе статус ошибки
+    int decide(Random random) {
+        requests.increment();
+        if (resetRate > 0 && random.nextDouble() < resetRate) {
+            resets.increment();
+            return -1;
+        }
+        double draw = random.nextDouble();
+        double cumulative = 0;
+        for (Map.Entry<Integer, Double> error : errorRates.entrySet()) {
+            cumulative += error.getValue();
+            if (draw < cumulative) {
+                injectedErrors.increment();
+                return error.getKey();
+            }
+        }
+        return 0;
+    }
+}
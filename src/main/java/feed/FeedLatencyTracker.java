@@ -0,0 +1,79 @@
+package feed;
+
+import metrics.HistogramSnapshot;
+import metrics.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Задержка доставки ленты: от возврата createOrder до первого появления номера заказа в ленте.
+// Общая лента повторяет последние заказы в каждом сообщении, поэтому считается только первое появление.
+// Если заказ пришёл в ленту раньше, чем вернулся createOrder, задержка записывается нулевой
+public class FeedLatencyTracker {
+
+    // Сколько номеров, увиденных до регистрации заказа, помнить на случай опередившей ленты
+    private static final int EARLY_SIGHTINGS = 4096;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Map<Long, Long> createdNanosByNumber = new HashMap<>();
+    private final Map<Long, Long> earlySightings = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            return size() > EARLY_SIGHTINGS;
+        }
+    };
+    private long delivered;
+
+    // Вызывается сразу после возврата createOrder
+    public synchronized void orderCreated(long number) {
+        long now = System.nanoTime();
+        if (earlySightings.remove(number) != null) {
+            record(0);
+            return;
+        }
+        createdNanosByNumber.put(number, now);
+    }
+
+    synchronized void orderSeen(long number, long receivedNanos) {
+        Long createdNanos = createdNanosByNumber.remove(number);
+        if (createdNanos == null) {
+            earlySightings.putIfAbsent(number, receivedNanos);
+            return;
+        }
+        record(receivedNanos - createdNanos);
+    }
+
+    private void record(long nanos) {
+        latency.recordNanos(nanos);
+        delivered++;
+        notifyAll();
+    }
+
+    // Ждёт, пока зарегистрированный заказ появится в ленте
+    public synchronized boolean awaitDelivery(long number, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (createdNanosByNumber.containsKey(number)) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(Math.max(1, remaining / 1_000_000));
+        }
+        return true;
+    }
+
+    public synchronized long getDelivered() {
+        return delivered;
+    }
+
+    // Заказы, которые ещё не появились в ленте
+    public synchronized int getPending() {
+        return createdNanosByNumber.size();
+    }
+
+    public HistogramSnapshot latencySnapshot() {
+        return latency.snapshot();
+    }
+}
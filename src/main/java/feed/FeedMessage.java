@@ -0,0 +1,38 @@
+package feed;
+
+import model.Order;
+
+import java.util.List;
+
+// Одно сообщение ленты заказов: последние заказы и счётчики на момент отправки
+public final class FeedMessage {
+
+    private final List<Order> orders;
+    private final long total;
+    private final long totalToday;
+    private final long receivedNanos;
+
+    FeedMessage(List<Order> orders, long total, long totalToday, long receivedNanos) {
+        this.orders = List.copyOf(orders);
+        this.total = total;
+        this.totalToday = totalToday;
+        this.receivedNanos = receivedNanos;
+    }
+
+    public List<Order> getOrders() {
+        return orders;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getTotalToday() {
+        return totalToday;
+    }
+
+    // System.nanoTime() прихода последнего фрагмента сообщения
+    public long getReceivedNanos() {
+        return receivedNanos;
+    }
+}
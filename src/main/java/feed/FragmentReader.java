@@ -0,0 +1,121 @@
+package feed;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.net.http.WebSocket;
+
+// Reader поверх фрагментов WebSocket-сообщения: разборщик читает сообщение по мере прихода фрагментов,
+// а следующий фрагмент запрашивается у WebSocket только когда предыдущий дочитан. В памяти держится
+// не больше одного фрагмента. Конец сообщения (дочитанный последний фрагмент) для разборщика - конец потока
+final class FragmentReader extends Reader {
+
+    private WebSocket socket;
+    private String fragment;
+    private int position;
+    // текущий фрагмент - последний в сообщении
+    private boolean last;
+    // фрагмент запрошен у WebSocket и ещё не пришёл
+    private boolean requested;
+    private long messageNanos;
+    private long fragmentNanos;
+    private boolean closed;
+
+    void attach(WebSocket socket) {
+        synchronized (lock) {
+            this.socket = socket;
+            lock.notifyAll();
+        }
+    }
+
+    // Вызывается из потока WebSocket и сразу возвращается: данные копируются, запросом дальше управляет разборщик
+    void offer(CharSequence data, boolean last) {
+        synchronized (lock) {
+            long now = System.nanoTime();
+            if (messageNanos == 0) {
+                messageNanos = now;
+            }
+            fragment = data.toString();
+            position = 0;
+            this.last = last;
+            fragmentNanos = now;
+            requested = false;
+            lock.notifyAll();
+        }
+    }
+
+    // Переход к следующему сообщению; false - лента закрыта
+    boolean nextMessage() throws InterruptedException {
+        synchronized (lock) {
+            fragment = null;
+            last = false;
+            messageNanos = 0;
+            return awaitData();
+        }
+    }
+
+    // Время прихода первого фрагмента текущего сообщения
+    long messageNanos() {
+        synchronized (lock) {
+            return messageNanos;
+        }
+    }
+
+    // Время прихода фрагмента, который читается сейчас
+    long fragmentNanos() {
+        synchronized (lock) {
+            return fragmentNanos;
+        }
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        synchronized (lock) {
+            try {
+                if (!awaitData()) {
+                    throw new IOException("Лента закрыта посреди сообщения");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Разбор ленты прерван");
+            }
+            int available = fragment.length() - position;
+            if (available == 0) {
+                return -1;
+            }
+            int count = Math.min(length, available);
+            fragment.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+    }
+
+    // Ждёт непрочитанных символов или конца сообщения. request(1) может сразу доставить фрагмент
+    // в этом же потоке, поэтому после запроса условие проверяется заново, а не сразу уходит в wait
+    private boolean awaitData() throws InterruptedException {
+        while (!closed) {
+            if (fragment != null && (position < fragment.length() || last)) {
+                return true;
+            }
+            fragment = null;
+            if (!requested && socket != null) {
+                requested = true;
+                socket.request(1);
+                continue;
+            }
+            lock.wait();
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package feed;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import model.Order;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Подписка на WebSocket-ленту заказов: общую (/orders/all) или заказы пользователя (/orders?token=).
+// Отдельный поток разбирает сообщение прямо из фрагментов по мере их прихода: заказы читаются по одному
+// и сразу отмечаются в FeedLatencyTracker, целиком текст сообщения не копится. Следующий фрагмент
+// запрашивается у WebSocket только когда предыдущий разобран, а разобранное сообщение ждёт места
+// в ограниченной очереди - медленный потребитель тормозит чтение из сокета даже посреди большого сообщения
+public class OrderFeedClient implements AutoCloseable {
+
+    public static final String FEED_URL = "wss://norma.education-services.ru/orders";
+
+    private static final Gson GSON = new Gson();
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    // Один HttpClient на все подписки: у каждого свой пул потоков и селектор
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder().connectTimeout(CONNECT_TIMEOUT).build();
+
+    private final BlockingQueue<FeedMessage> queue;
+    private final FeedLatencyTracker latencyTracker = new FeedLatencyTracker();
+    private final FragmentReader fragments = new FragmentReader();
+    private final Thread decoder;
+    private volatile WebSocket webSocket;
+    // Счётчики пишет только поток разбора
+    private volatile long stalls;
+    private volatile long receivedMessages;
+    private volatile Throwable failure;
+    private volatile boolean closed;
+
+    private OrderFeedClient(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.decoder = new Thread(this::decodeMessages, "order-feed-decoder");
+        this.decoder.setDaemon(true);
+    }
+
+    // Лента всех заказов
+    public static OrderFeedClient allOrders(String feedUrl, int capacity) throws IOException {
+        return connect(URI.create(feedUrl + "/all"), capacity);
+    }
+
+    // Лента заказов пользователя; accessToken принимается в том виде, в каком его отдаёт API ("Bearer ...")
+    public static OrderFeedClient userOrders(String feedUrl, String accessToken, int capacity) throws IOException {
+        String token = accessToken.startsWith("Bearer ") ? accessToken.substring("Bearer ".length()) : accessToken;
+        return connect(URI.create(feedUrl + "?token=" + URLEncoder.encode(token, StandardCharsets.UTF_8)), capacity);
+    }
+
+    private static OrderFeedClient connect(URI uri, int capacity) throws IOException {
+        OrderFeedClient client = new OrderFeedClient(capacity);
+        client.decoder.start();
+        try {
+            client.webSocket = HTTP_CLIENT
+                    .newWebSocketBuilder()
+                    .connectTimeout(CONNECT_TIMEOUT)
+                    .buildAsync(uri, client.new Listener())
+                    .get(CONNECT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            client.close();
+            throw new IOException("Не удалось подключиться к ленте " + uri, e.getCause());
+        } catch (TimeoutException e) {
+            client.close();
+            throw new IOException("Не удалось подключиться к ленте " + uri + " за " + CONNECT_TIMEOUT, e);
+        } catch (InterruptedException e) {
+            client.close();
+            Thread.currentThread().interrupt();
+            throw new IOException("Подключение к ленте " + uri + " прервано", e);
+        }
+        return client;
+    }
+
+    // Следующее сообщение или null, если за timeout ничего не пришло
+    public FeedMessage poll(Duration timeout) throws InterruptedException {
+        return queue.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void decodeMessages() {
+        try {
+            while (fragments.nextMessage()) {
+                FeedMessage message = decode();
+                receivedMessages++;
+                if (!queue.offer(message)) {
+                    stalls++;
+                    queue.put(message);
+                }
+            }
+        } catch (InterruptedException e) {
+            // close() останавливает разбор
+        } catch (IOException | RuntimeException e) {
+            if (!closed) {
+                fail(e);
+            }
+        }
+    }
+
+    private void fail(Throwable error) {
+        failure = error;
+        closed = true;
+        fragments.close();
+        WebSocket socket = webSocket;
+        if (socket != null) {
+            socket.abort();
+        }
+    }
+
+    public FeedLatencyTracker getLatencyTracker() {
+        return latencyTracker;
+    }
+
+    // Сколько раз чтение ленты останавливалось из-за заполненной очереди
+    public long getStalls() {
+        return stalls;
+    }
+
+    public long getReceivedMessages() {
+        return receivedMessages;
+    }
+
+    // Ошибка соединения или разбора сообщения, null если лента работает
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    // JsonReader не закрывается: его close() закрыл бы и ленту, а конец сообщения и так выглядит как конец потока
+    private FeedMessage decode() throws IOException {
+        List<Order> orders = new ArrayList<>();
+        long total = 0;
+        long totalToday = 0;
+        JsonReader reader = new JsonReader(fragments);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "orders":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        Order order = GSON.fromJson(reader, Order.class);
+                        latencyTracker.orderSeen(order.getNumber(), fragments.fragmentNanos());
+                        orders.add(order);
+                    }
+                    reader.endArray();
+                    break;
+                case "total":
+                    total = reader.nextLong();
+                    break;
+                case "totalToday":
+                    totalToday = reader.nextLong();
+                    break;
+                case "success":
+                    if (!reader.nextBoolean()) {
+                        throw new IOException("Лента вернула ошибку (success: false)");
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new IOException("После сообщения ленты есть лишние данные");
+        }
+        long receivedNanos = fragments.messageNanos();
+        return new FeedMessage(orders, total, totalToday, receivedNanos);
+    }
+
+    // Вежливо закрывает соединение, а если сервер не ответил за секунду - обрывает его
+    @Override
+    public void close() {
+        closed = true;
+        fragments.close();
+        decoder.interrupt();
+        if (webSocket == null) {
+            return;
+        }
+        if (!webSocket.isOutputClosed()) {
+            webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "")
+                    .completeOnTimeout(webSocket, 1, TimeUnit.SECONDS)
+                    .exceptionally(e -> webSocket)
+                    .join();
+        }
+        webSocket.abort();
+    }
+
+    private class Listener implements WebSocket.Listener {
+
+        // Первый фрагмент запросит поток разбора, как только узнает сокет
+        @Override
+        public void onOpen(WebSocket socket) {
+            fragments.attach(socket);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket socket, CharSequence data, boolean last) {
+            fragments.offer(data, last);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket socket, int statusCode, String reason) {
+            closed = true;
+            fragments.close();
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket socket, Throwable error) {
+            fail(error);
+        }
+    }
+}
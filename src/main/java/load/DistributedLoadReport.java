@@ -0,0 +1,66 @@
+package load;
+
+import metrics.HistogramSnapshot;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Глобальный отчёт распределённой нагрузки: гистограммы всех воркеров слиты по сценариям
+public class DistributedLoadReport {
+
+    private final List<String> workers;
+    private final long durationMillis;
+    private final Map<String, ScenarioResult> scenarios = new TreeMap<>();
+
+    public DistributedLoadReport(List<String> workers, long durationMillis, Collection<ScenarioResult> workerResults) {
+        this.workers = List.copyOf(workers);
+        this.durationMillis = durationMillis;
+        for (ScenarioResult result : workerResults) {
+            scenarios.merge(result.getScenario(), result, ScenarioResult::merge);
+        }
+    }
+
+    public List<String> getWorkers() {
+        return workers;
+    }
+
+    public Map<String, ScenarioResult> getScenarios() {
+        return scenarios;
+    }
+
+    public ScenarioResult total() {
+        ScenarioResult total = new ScenarioResult("total", 0, 0, 0, HistogramSnapshot.empty());
+        for (ScenarioResult result : scenarios.values()) {
+            total = total.merge(result);
+        }
+        return total;
+    }
+
+    public double throughputPerSecond() {
+        return durationMillis == 0 ? 0 : total().getIterations() * 1000d / durationMillis;
+    }
+
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "Воркеров: %d, длительность: %d с%n", workers.size(), durationMillis / 1000));
+        text.append(String.format(Locale.ROOT, "%-16s %10s %8s %8s %10s %10s %10s %10s%n",
+                "scenario", "iterations", "failed", "missed", "p50, мс", "p90, мс", "p99, мс", "max, мс"));
+        for (ScenarioResult result : scenarios.values()) {
+            appendRow(text, result);
+        }
+        appendRow(text, total());
+        text.append(String.format(Locale.ROOT, "Пропускная способность: %.1f итераций/с%n", throughputPerSecond()));
+        return text.toString();
+    }
+
+    private static void appendRow(StringBuilder text, ScenarioResult result) {
+        HistogramSnapshot latency = result.getLatency();
+        text.append(String.format(Locale.ROOT, "%-16s %10d %8d %8d %10.1f %10.1f %10.1f %10.1f%n",
+                result.getScenario(), result.getIterations(), result.getFailures(), result.getMissed(),
+                latency.percentileMicros(50) / 1000d, latency.percentileMicros(90) / 1000d,
+                latency.percentileMicros(99) / 1000d, latency.percentileMicros(100) / 1000d));
+    }
+}
@@ -0,0 +1,177 @@
+package load;
+
+import client.ApiClient;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Координатор распределённой нагрузки по обычным сокетам: ждёт воркеров, раздаёт шарды сценариев
+// и доли частоты прихода, синхронно стартует и сливает гистограммы в один отчёт.
+// Запуск: java -cp ... load.LoadCoordinator <port> <workers> <rate/s> <seconds> <scenario,...> [baseUrl,...]
+public class LoadCoordinator implements AutoCloseable {
+
+    private static final long START_DELAY_MILLIS = 500;
+
+    private final ServerSocket serverSocket;
+    private final int expectedWorkers;
+    private final List<String> scenarios;
+    private final double arrivalRatePerSecond;
+    private final Duration duration;
+    private final String baseUrl;
+    private Duration acceptTimeout = Duration.ofMinutes(5);
+    private Duration handshakeTimeout = Duration.ofSeconds(30);
+
+    public LoadCoordinator(int port, int expectedWorkers, List<String> scenarios, double arrivalRatePerSecond,
+                           Duration duration, String baseUrl) throws IOException {
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("Нужен хотя бы один сценарий");
+        }
+        this.serverSocket = new ServerSocket();
+        this.serverSocket.bind(new InetSocketAddress(port));
+        this.expectedWorkers = expectedWorkers;
+        this.scenarios = List.copyOf(scenarios);
+        this.arrivalRatePerSecond = arrivalRatePerSecond;
+        this.duration = duration;
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> scenarios = Arrays.asList(args[4].split(","));
+        String baseUrl = args.length > 5 ? args[5] : ApiClient.BASE_URL;
+        try (LoadCoordinator coordinator = new LoadCoordinator(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+                scenarios, Double.parseDouble(args[2]), Duration.ofSeconds(Long.parseLong(args[3])), baseUrl)) {
+            System.out.print(coordinator.run().toText());
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public void setAcceptTimeout(Duration acceptTimeout) {
+        this.acceptTimeout = acceptTimeout;
+    }
+
+    // Сколько ждать приветствия и подтверждения готовности от подключившегося воркера
+    public void setHandshakeTimeout(Duration handshakeTimeout) {
+        this.handshakeTimeout = handshakeTimeout;
+    }
+
+    public DistributedLoadReport run() throws IOException {
+        List<Connection> workers = new ArrayList<>();
+        try {
+            serverSocket.setSoTimeout((int) acceptTimeout.toMillis());
+            while (workers.size() < expectedWorkers) {
+                workers.add(accept(serverSocket.accept(), (int) handshakeTimeout.toMillis()));
+            }
+
+            int totalThreads = 0;
+            for (Connection worker : workers) {
+                totalThreads += worker.threads;
+            }
+            for (int i = 0; i < workers.size(); i++) {
+                Connection worker = workers.get(i);
+                double rate = arrivalRatePerSecond * worker.threads / totalThreads;
+                new WorkerAssignment(shard(i, workers.size()), rate, duration.toMillis(), baseUrl).writeTo(worker.out);
+            }
+            for (Connection worker : workers) {
+                byte ready;
+                try {
+                    ready = worker.in.readByte();
+                } catch (SocketTimeoutException e) {
+                    throw new IOException("Воркер " + worker.id + " не подтвердил готовность за " + handshakeTimeout.toMillis() + " мс", e);
+                }
+                if (ready != LoadWorker.READY) {
+                    throw new IOException("Воркер " + worker.id + " не подтвердил готовность");
+                }
+            }
+
+            // Команда старта уходит всем воркерам только после готовности последнего
+            for (Connection worker : workers) {
+                worker.socket.setSoTimeout((int) (duration.toMillis() + START_DELAY_MILLIS + Duration.ofMinutes(5).toMillis()));
+                worker.out.writeLong(START_DELAY_MILLIS);
+                worker.out.flush();
+            }
+
+            List<ScenarioResult> results = new ArrayList<>();
+            List<String> workerIds = new ArrayList<>();
+            for (Connection worker : workers) {
+                int count = worker.in.readInt();
+                for (int i = 0; i < count; i++) {
+                    results.add(ScenarioResult.readFrom(worker.in));
+                }
+                workerIds.add(worker.id);
+            }
+            return new DistributedLoadReport(workerIds, duration.toMillis(), results);
+        } finally {
+            for (Connection worker : workers) {
+                worker.socket.close();
+            }
+        }
+    }
+
+    // Сценарии раскладываются по кругу; если воркеров больше, чем сценариев, сценарии повторяются
+    List<String> shard(int workerIndex, int workerCount) {
+        List<String> shard = new ArrayList<>();
+        for (int i = workerIndex; i < scenarios.size(); i += workerCount) {
+            shard.add(scenarios.get(i));
+        }
+        if (shard.isEmpty()) {
+            shard.add(scenarios.get(workerIndex % scenarios.size()));
+        }
+        return shard;
+    }
+
+    // Таймаут чтения держится до команды старта: молчащий воркер не должен подвешивать координатор
+    private static Connection accept(Socket socket, int handshakeTimeoutMillis) throws IOException {
+        socket.setTcpNoDelay(true);
+        socket.setSoTimeout(handshakeTimeoutMillis);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        try {
+            if (in.readInt() != LoadWorker.MAGIC) {
+                throw new IOException("Неизвестный клиент подключился к координатору: " + socket.getRemoteSocketAddress());
+            }
+            return new Connection(socket, in, out, in.readUTF(), in.readInt());
+        } catch (SocketTimeoutException e) {
+            socket.close();
+            throw new IOException("Клиент " + socket.getRemoteSocketAddress() + " не представился за "
+                    + handshakeTimeoutMillis + " мс", e);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private static class Connection {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        private final String id;
+        private final int threads;
+
+        private Connection(Socket socket, DataInputStream in, DataOutputStream out, String id, int threads) {
+            this.socket = socket;
+            this.in = in;
+            this.out = out;
+            this.id = id;
+            this.threads = threads;
+        }
+    }
+}
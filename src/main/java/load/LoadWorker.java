@@ -0,0 +1,209 @@
+package load;
+
+import client.ApiCallContext;
+import client.ApiClient;
+import metrics.LatencyHistogram;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Воркер распределённой нагрузки: получает шард от LoadCoordinator, по общему старту
+// запускает сценарии с заданной частотой прихода и возвращает гистограммы задержек.
+// Запуск: java -cp ... load.LoadWorker <host> <port> [threads]
+public class LoadWorker {
+
+    static final int MAGIC = 0x53424C44;
+    static final byte READY = 1;
+
+    private final String host;
+    private final int port;
+    private final String workerId;
+    private final int threads;
+    private Duration drainTimeout = Duration.ofMinutes(5);
+
+    public LoadWorker(String host, int port, String workerId, int threads) {
+        this.host = host;
+        this.port = port;
+        this.workerId = workerId;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String host = args[0];
+        int port = Integer.parseInt(args[1]);
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors() * 4;
+        String workerId = InetAddress.getLocalHost().getHostName() + "-" + ProcessHandle.current().pid();
+        new LoadWorker(host, port, workerId, threads).run();
+    }
+
+    // Сколько ждать запусков, начатых до конца нагрузки; не успевшие засчитываются ошибками
+    public void setDrainTimeout(Duration drainTimeout) {
+        this.drainTimeout = drainTimeout;
+    }
+
+    public List<ScenarioResult> run() throws IOException, InterruptedException {
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+
+            out.writeInt(MAGIC);
+            out.writeUTF(workerId);
+            out.writeInt(threads);
+            out.flush();
+
+            WorkerAssignment assignment = WorkerAssignment.readFrom(in);
+            ApiClient apiClient = new ApiClient(assignment.getBaseUrl());
+            Map<String, Scenario> scenarios = new LinkedHashMap<>();
+            for (String name : assignment.getScenarios()) {
+                scenarios.put(name, Scenarios.create(name, apiClient));
+            }
+            out.writeByte(READY);
+            out.flush();
+
+            // Задержка старта приходит одновременно всем воркерам, часы машин сверять не нужно
+            long startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(in.readLong());
+            List<ScenarioResult> results = execute(assignment, scenarios, startNanos);
+
+            out.writeInt(results.size());
+            for (ScenarioResult result : results) {
+                result.writeTo(out);
+            }
+            out.flush();
+            return results;
+        }
+    }
+
+    // Открытая модель нагрузки: запуски идут по расписанию независимо от времени ответа,
+    // задержка считается от запланированного момента, чтобы не прятать очередь (coordinated omission)
+    private List<ScenarioResult> execute(WorkerAssignment assignment, Map<String, Scenario> scenarios, long startNanos)
+            throws InterruptedException {
+        List<String> names = new ArrayList<>(scenarios.keySet());
+        List<ScenarioStats> stats = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            stats.add(new ScenarioStats());
+        }
+        if (names.isEmpty() || assignment.getArrivalRatePerSecond() <= 0) {
+            return toResults(names, stats);
+        }
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / assignment.getArrivalRatePerSecond());
+        long endNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(assignment.getDurationMillis());
+        // Потоки-демоны: запуск, зависший в чтении сокета, не держит JVM воркера после отчёта
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "load-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore permits = new Semaphore(threads);
+
+        for (long arrival = 0; ; arrival++) {
+            long intendedNanos = startNanos + arrival * intervalNanos;
+            if (intendedNanos >= endNanos) {
+                break;
+            }
+            long wait = intendedNanos - System.nanoTime();
+            while (wait > 0) {
+                LockSupport.parkNanos(wait);
+                wait = intendedNanos - System.nanoTime();
+            }
+            int index = (int) (arrival % names.size());
+            ScenarioStats scenarioStats = stats.get(index);
+            if (!permits.tryAcquire()) {
+                scenarioStats.missed.increment();
+                continue;
+            }
+            String name = names.get(index);
+            Scenario scenario = scenarios.get(name);
+            scenarioStats.started();
+            pool.execute(() -> {
+                ApiCallContext.setScenario(name);
+                try {
+                    boolean success;
+                    try {
+                        success = scenario.runOnce();
+                    } catch (RuntimeException e) {
+                        success = false;
+                    }
+                    scenarioStats.finished(success, System.nanoTime() - intendedNanos);
+                } finally {
+                    ApiCallContext.clear();
+                    permits.release();
+                }
+            });
+        }
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                for (ScenarioStats scenarioStats : stats) {
+                    scenarioStats.abandon();
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return toResults(names, stats);
+    }
+
+    private static List<ScenarioResult> toResults(List<String> names, List<ScenarioStats> stats) {
+        List<ScenarioResult> results = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            results.add(stats.get(i).toResult(names.get(i)));
+        }
+        return results;
+    }
+
+    private static class ScenarioStats {
+        private final LongAdder iterations = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder missed = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        // Запуски в полёте; после abandon поздние результаты не меняют отчёт
+        private int inFlight;
+        private boolean abandoned;
+
+        private synchronized void started() {
+            inFlight++;
+        }
+
+        private synchronized void finished(boolean success, long latencyNanos) {
+            if (abandoned) {
+                return;
+            }
+            inFlight--;
+            iterations.increment();
+            if (!success) {
+                failures.increment();
+            }
+            latency.recordNanos(latencyNanos);
+        }
+
+        // Не завершившиеся к концу ожидания запуски засчитываются итерациями с ошибкой, а не исчезают из отчёта
+        private synchronized void abandon() {
+            abandoned = true;
+            iterations.add(inFlight);
+            failures.add(inFlight);
+            inFlight = 0;
+        }
+
+        private synchronized ScenarioResult toResult(String name) {
+            return new ScenarioResult(name, iterations.sum(), failures.sum(), missed.sum(), latency.snapshot());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package load;
+
+import java.util.Arrays;
+
+// Растущий массив примитивных long: миллионы номеров без упаковки в Long
+public class LongList {
+
+    private long[] values;
+    private int size;
+
+    public LongList(int initialCapacity) {
+        values = new long[Math.max(initialCapacity, 16)];
+    }
+
+    public void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[size++] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Индекс " + index + " при размере " + size);
+        }
+        return values[index];
+    }
+
+    public void addAll(LongList other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+    }
+
+    public long[] toSortedArray() {
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
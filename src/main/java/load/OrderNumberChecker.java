@@ -0,0 +1,128 @@
+package load;
+
+import client.ApiCallContext;
+import client.ApiClient;
+import client.ApiResult;
+import client.TypedApiClient;
+import model.IngredientsResponse;
+import model.OrderResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Проверка номеров заказов под конкурентным createOrder: каждый поток копит номера
+// в собственном примитивном массиве, после прогона массивы сливаются и сортируются
+public class OrderNumberChecker {
+
+    private final TypedApiClient apiClient;
+    private final String accessToken;
+    private final int threads;
+    private final int ordersPerThread;
+
+    public OrderNumberChecker(ApiClient apiClient, String accessToken, int threads, int ordersPerThread) {
+        this.apiClient = new TypedApiClient(apiClient);
+        this.accessToken = accessToken;
+        this.threads = threads;
+        this.ordersPerThread = ordersPerThread;
+    }
+
+    public OrderNumberReport run() throws InterruptedException {
+        String orderBody = orderBody();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ThreadResult>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return createOrders(orderBody);
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        LongList numbers = new LongList(threads * ordersPerThread);
+        long failedRequests = 0;
+        long orderingViolations = 0;
+        try {
+            for (Future<ThreadResult> future : futures) {
+                ThreadResult result = future.get();
+                numbers.addAll(result.numbers);
+                failedRequests += result.failedRequests;
+                orderingViolations += result.orderingViolations;
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Поток создания заказов завершился с ошибкой", e.getCause());
+        } finally {
+            pool.shutdownNow();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        long durationNanos = System.nanoTime() - startNanos;
+        return new OrderNumberReport(numbers.toSortedArray(), failedRequests, orderingViolations, durationNanos);
+    }
+
+    // Заказы одного потока идут последовательно, поэтому каждый следующий номер обязан быть больше
+    private ThreadResult createOrders(String orderBody) {
+        ApiCallContext.setScenario("order-number-check");
+        ThreadResult result = new ThreadResult(ordersPerThread);
+        long previous = Long.MIN_VALUE;
+        try {
+            for (int i = 0; i < ordersPerThread; i++) {
+                ApiResult<OrderResponse> response;
+                try {
+                    response = apiClient.createOrder(accessToken, orderBody);
+                } catch (RuntimeException e) {
+                    result.failedRequests++;
+                    continue;
+                }
+                long value;
+                try {
+                    value = orderNumber(response);
+                } catch (RuntimeException e) {
+                    result.failedRequests++;
+                    continue;
+                }
+                if (value <= previous) {
+                    result.orderingViolations++;
+                }
+                previous = value;
+                result.numbers.add(value);
+            }
+        } finally {
+            ApiCallContext.clear();
+        }
+        return result;
+    }
+
+    // Типизированный ответ вместо response.path(): Groovy-выражение JsonPath на каждый заказ стоит дороже самого запроса
+    private static long orderNumber(ApiResult<OrderResponse> response) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Заказ не создан: " + response.statusCode());
+        }
+        return response.body().getOrder().getNumber();
+    }
+
+    private String orderBody() {
+        ApiResult<IngredientsResponse> ingredientsResponse = apiClient.getIngredients();
+        if (ingredientsResponse.statusCode() != 200 || ingredientsResponse.body().getData().size() < 2) {
+            throw new IllegalStateException("Не удалось получить ингредиенты для заказа");
+        }
+        List<String> ingredientIds = ingredientsResponse.body().ingredientIds();
+        return String.format("{\"ingredients\": [\"%s\", \"%s\"]}", ingredientIds.get(0), ingredientIds.get(1));
+    }
+
+    private static class ThreadResult {
+        private final LongList numbers;
+        private long failedRequests;
+        private long orderingViolations;
+
+        private ThreadResult(int capacity) {
+            this.numbers = new LongList(capacity);
+        }
+    }
+}
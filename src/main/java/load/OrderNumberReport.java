@@ -0,0 +1,103 @@
+package load;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+// Итог проверки номеров заказов: дубликаты, пропуски, нарушения порядка и достигнутая пропускная способность
+public class OrderNumberReport {
+
+    static final int MAX_EXAMPLES = 20;
+
+    private final long orders;
+    private final long failedRequests;
+    private final long distinct;
+    private final long duplicates;
+    private final long[] duplicateExamples;
+    private final long gaps;
+    private final long orderingViolations;
+    private final long minNumber;
+    private final long maxNumber;
+    private final long durationNanos;
+
+    // sortedNumbers - все полученные номера, отсортированные по возрастанию
+    OrderNumberReport(long[] sortedNumbers, long failedRequests, long orderingViolations, long durationNanos) {
+        this.orders = sortedNumbers.length;
+        this.failedRequests = failedRequests;
+        this.orderingViolations = orderingViolations;
+        this.durationNanos = durationNanos;
+
+        long distinctCount = 0;
+        long duplicateCount = 0;
+        long gapCount = 0;
+        long[] examples = new long[MAX_EXAMPLES];
+        int exampleCount = 0;
+        for (int i = 0; i < sortedNumbers.length; i++) {
+            if (i > 0 && sortedNumbers[i] == sortedNumbers[i - 1]) {
+                duplicateCount++;
+                if (exampleCount < MAX_EXAMPLES && (exampleCount == 0 || examples[exampleCount - 1] != sortedNumbers[i])) {
+                    examples[exampleCount++] = sortedNumbers[i];
+                }
+                continue;
+            }
+            distinctCount++;
+            if (i > 0) {
+                gapCount += sortedNumbers[i] - sortedNumbers[i - 1] - 1;
+            }
+        }
+        this.distinct = distinctCount;
+        this.duplicates = duplicateCount;
+        this.duplicateExamples = Arrays.copyOf(examples, exampleCount);
+        this.gaps = gapCount;
+        this.minNumber = sortedNumbers.length == 0 ? 0 : sortedNumbers[0];
+        this.maxNumber = sortedNumbers.length == 0 ? 0 : sortedNumbers[sortedNumbers.length - 1];
+    }
+
+    public long getOrders() {
+        return orders;
+    }
+
+    public long getFailedRequests() {
+        return failedRequests;
+    }
+
+    public long getDistinct() {
+        return distinct;
+    }
+
+    // Лишние повторы: номер, выданный трижды, даёт два дубликата
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long[] getDuplicateExamples() {
+        return duplicateExamples.clone();
+    }
+
+    // Номера между минимальным и максимальным, которые не вернулись ни разу.
+    // На общем стенде часть пропусков - заказы других клиентов
+    public long getGaps() {
+        return gaps;
+    }
+
+    // Случаи, когда поток получил номер не больше предыдущего своего номера
+    public long getOrderingViolations() {
+        return orderingViolations;
+    }
+
+    public double throughputPerSecond() {
+        return durationNanos == 0 ? 0 : (orders + failedRequests) * 1_000_000_000d / durationNanos;
+    }
+
+    public String toText() {
+        return String.format(Locale.ROOT,
+                "Заказов: %d (ошибок запросов: %d) за %.1f с, %.1f заказов/с%n"
+                        + "Диапазон номеров: %d..%d, уникальных: %d%n"
+                        + "Дубликатов: %d %s%n"
+                        + "Пропусков в нумерации: %d%n"
+                        + "Нарушений порядка: %d%n",
+                orders, failedRequests, durationNanos / 1_000_000_000d, throughputPerSecond(),
+                minNumber, maxNumber, distinct,
+                duplicates, duplicates == 0 ? "" : Arrays.toString(duplicateExamples),
+                gaps, orderingViolations);
+    }
+}
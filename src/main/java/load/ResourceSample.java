@@ -0,0 +1,33 @@
+package load;
+
+// Снимок ресурсов JVM в момент времени от начала прогона
+public class ResourceSample {
+
+    private final long elapsedMillis;
+    private final long heapUsedAfterGcBytes;
+    private final int threadCount;
+    private final int openConnections;
+
+    public ResourceSample(long elapsedMillis, long heapUsedAfterGcBytes, int threadCount, int openConnections) {
+        this.elapsedMillis = elapsedMillis;
+        this.heapUsedAfterGcBytes = heapUsedAfterGcBytes;
+        this.threadCount = threadCount;
+        this.openConnections = openConnections;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getHeapUsedAfterGcBytes() {
+        return heapUsedAfterGcBytes;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public int getOpenConnections() {
+        return openConnections;
+    }
+}
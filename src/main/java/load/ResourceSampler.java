@@ -0,0 +1,55 @@
+package load;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Снимает heap после GC, число потоков и открытых сокетов текущей JVM
+public class ResourceSampler {
+
+    private static final Path PROC_FD = Paths.get("/proc/self/fd");
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final long startNanos = System.nanoTime();
+
+    public ResourceSample sample() {
+        // Полная сборка перед замером, чтобы в тренд попадал только живой heap
+        memory.gc();
+        long heapUsed = memory.getHeapMemoryUsage().getUsed();
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        return new ResourceSample(elapsedMillis, heapUsed, threads.getThreadCount(), countOpenConnections());
+    }
+
+    // На Linux считаем дескрипторы-сокеты, иначе - все открытые дескрипторы процесса
+    static int countOpenConnections() {
+        if (Files.isDirectory(PROC_FD)) {
+            int sockets = 0;
+            try (DirectoryStream<Path> descriptors = Files.newDirectoryStream(PROC_FD)) {
+                for (Path descriptor : descriptors) {
+                    try {
+                        if (Files.readSymbolicLink(descriptor).toString().startsWith("socket:")) {
+                            sockets++;
+                        }
+                    } catch (IOException e) {
+                        // дескриптор закрылся во время обхода
+                    }
+                }
+                return sockets;
+            } catch (IOException e) {
+                // переходим к запасному варианту
+            }
+        }
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.UnixOperatingSystemMXBean) {
+            return (int) ((com.sun.management.UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount();
+        }
+        return -1;
+    }
+}
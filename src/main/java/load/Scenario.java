@@ -0,0 +1,8 @@
+package load;
+
+// Один повторяемый нагрузочный сценарий поверх ApiClient
+public interface Scenario {
+
+    // true - все шаги сценария завершились ожидаемым статусом
+    boolean runOnce();
+}
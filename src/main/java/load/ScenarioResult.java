@@ -0,0 +1,89 @@
+package load;
+
+import metrics.HistogramSnapshot;
+import metrics.LatencyHistogram;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+// Итог одного сценария: итерации, ошибки, пропущенные запуски и гистограмма задержек
+public class ScenarioResult {
+
+    private final String scenario;
+    private final long iterations;
+    private final long failures;
+    private final long missed;
+    private final HistogramSnapshot latency;
+
+    public ScenarioResult(String scenario, long iterations, long failures, long missed, HistogramSnapshot latency) {
+        this.scenario = scenario;
+        this.iterations = iterations;
+        this.failures = failures;
+        this.missed = missed;
+        this.latency = latency;
+    }
+
+    public ScenarioResult merge(ScenarioResult other) {
+        return new ScenarioResult(scenario, iterations + other.iterations, failures + other.failures,
+                missed + other.missed, latency.merge(other.latency));
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public long getIterations() {
+        return iterations;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    // Запуски, для которых не нашлось свободного потока в момент прихода
+    public long getMissed() {
+        return missed;
+    }
+
+    public HistogramSnapshot getLatency() {
+        return latency;
+    }
+
+    // Гистограмма передаётся разреженно: только непустые корзины
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeUTF(scenario);
+        out.writeLong(iterations);
+        out.writeLong(failures);
+        out.writeLong(missed);
+        long[] counts = latency.getCounts();
+        int nonEmpty = 0;
+        for (long count : counts) {
+            if (count != 0) {
+                nonEmpty++;
+            }
+        }
+        out.writeLong(latency.getSumMicros());
+        out.writeInt(nonEmpty);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                out.writeShort(i);
+                out.writeLong(counts[i]);
+            }
+        }
+    }
+
+    static ScenarioResult readFrom(DataInputStream in) throws IOException {
+        String scenario = in.readUTF();
+        long iterations = in.readLong();
+        long failures = in.readLong();
+        long missed = in.readLong();
+        long sumMicros = in.readLong();
+        int nonEmpty = in.readInt();
+        long[] counts = new long[LatencyHistogram.BUCKET_COUNT];
+        for (int i = 0; i < nonEmpty; i++) {
+            counts[in.readShort()] = in.readLong();
+        }
+        return new ScenarioResult(scenario, iterations, failures, missed, new HistogramSnapshot(counts, sumMicros));
+    }
+}
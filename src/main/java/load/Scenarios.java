@@ -0,0 +1,35 @@
+package load;
+
+import client.ApiClient;
+import model.UserCredentials;
+
+import java.util.List;
+
+// Именованные сценарии, которые координатор может раздать воркерам
+public final class Scenarios {
+
+    public static final String USER_FLOW = "user-flow";
+    public static final String INGREDIENTS = "ingredients";
+    public static final String FAILED_LOGIN = "failed-login";
+
+    private Scenarios() {
+    }
+
+    public static List<String> names() {
+        return List.of(USER_FLOW, INGREDIENTS, FAILED_LOGIN);
+    }
+
+    public static Scenario create(String name, ApiClient apiClient) {
+        switch (name) {
+            case USER_FLOW:
+                return new UserFlow(apiClient);
+            case INGREDIENTS:
+                return () -> apiClient.getIngredients().statusCode() == 200;
+            case FAILED_LOGIN:
+                UserCredentials credentials = new UserCredentials("nobody-loadtest@yandex.ru", "wrong_pass");
+                return () -> apiClient.loginUser(credentials).statusCode() == 401;
+            default:
+                throw new IllegalArgumentException("Неизвестный сценарий: " + name);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package load;
+
+import client.ApiClient;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+// Параметры soak-прогона, читаются из системных свойств -Dsoak.*
+public class SoakConfig {
+
+    private Duration duration = Duration.ofHours(1);
+    private Duration sampleInterval = Duration.ofMinutes(1);
+    private Duration warmup = Duration.ofMinutes(5);
+    private int threads = 4;
+    private String baseUrl = ApiClient.BASE_URL;
+    private Path outputDir = Paths.get("target", "soak");
+    // Допустимый рост ресурсов в час (наклон линейной регрессии после прогрева)
+    private double maxHeapSlopeMbPerHour = 16;
+    private double maxThreadSlopePerHour = 2;
+    private double maxConnectionSlopePerHour = 2;
+    // JFR-запись на диске хранит только последние jfrMaxAge и не больше jfrMaxSizeMb: иначе многочасовой
+    // прогон с профилем "profile" копит чанки в репозитории до самой остановки
+    private Duration jfrMaxAge = Duration.ofHours(1);
+    private long jfrMaxSizeMb = 1024;
+
+    public static SoakConfig fromSystemProperties() {
+        SoakConfig config = new SoakConfig();
+        config.setDuration(parseDuration(System.getProperty("soak.duration"), config.getDuration()));
+        config.setSampleInterval(parseDuration(System.getProperty("soak.sampleInterval"), config.getSampleInterval()));
+        config.setWarmup(parseDuration(System.getProperty("soak.warmup"), config.getWarmup()));
+        config.setThreads(Integer.getInteger("soak.threads", config.getThreads()));
+        config.setBaseUrl(System.getProperty("soak.baseUrl", config.getBaseUrl()));
+        config.setOutputDir(Paths.get(System.getProperty("soak.outputDir", config.getOutputDir().toString())));
+        config.setMaxHeapSlopeMbPerHour(parseDouble(System.getProperty("soak.maxHeapSlopeMbPerHour"), config.getMaxHeapSlopeMbPerHour()));
+        config.setMaxThreadSlopePerHour(parseDouble(System.getProperty("soak.maxThreadSlopePerHour"), config.getMaxThreadSlopePerHour()));
+        config.setMaxConnectionSlopePerHour(parseDouble(System.getProperty("soak.maxConnectionSlopePerHour"), config.getMaxConnectionSlopePerHour()));
+        config.setJfrMaxAge(parseDuration(System.getProperty("soak.jfrMaxAge"), config.getJfrMaxAge()));
+        config.setJfrMaxSizeMb(Long.getLong("soak.jfrMaxSizeMb", config.getJfrMaxSizeMb()));
+        return config;
+    }
+
+    // Тренд считается только по замерам после прогрева, поэтому прогрев должен закончиться раньше прогона
+    public void validate() {
+        if (warmup.compareTo(duration) >= 0) {
+            throw new IllegalArgumentException("Прогрев " + warmup + " не короче прогона " + duration
+                    + ": после прогрева не останется замеров для тренда");
+        }
+        if (sampleInterval.isZero() || sampleInterval.isNegative()) {
+            throw new IllegalArgumentException("Интервал замеров должен быть положительным: " + sampleInterval);
+        }
+        if (jfrMaxAge.isZero() || jfrMaxAge.isNegative() || jfrMaxSizeMb <= 0) {
+            throw new IllegalArgumentException("Ограничения JFR-записи должны быть положительными: maxAge="
+                    + jfrMaxAge + ", maxSizeMb=" + jfrMaxSizeMb);
+        }
+    }
+
+    // Принимает ISO-8601 (PT2H) или короткую запись: 90s, 30m, 8h
+    static Duration parseDuration(String value, Duration defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        String trimmed = value.trim();
+        if (trimmed.startsWith("P") || trimmed.startsWith("p")) {
+            return Duration.parse(trimmed);
+        }
+        long amount = Long.parseLong(trimmed.substring(0, trimmed.length() - 1));
+        switch (Character.toLowerCase(trimmed.charAt(trimmed.length() - 1))) {
+            case 's':
+                return Duration.ofSeconds(amount);
+            case 'm':
+                return Duration.ofMinutes(amount);
+            case 'h':
+                return Duration.ofHours(amount);
+            default:
+                throw new IllegalArgumentException("Неизвестный формат длительности: " + value);
+        }
+    }
+
+    private static double parseDouble(String value, double defaultValue) {
+        return value == null || value.isBlank() ? defaultValue : Double.parseDouble(value.trim());
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
+    public Duration getSampleInterval() {
+        return sampleInterval;
+    }
+
+    public void setSampleInterval(Duration sampleInterval) {
+        this.sampleInterval = sampleInterval;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(Duration warmup) {
+        this.warmup = warmup;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public Path getOutputDir() {
+        return outputDir;
+    }
+
+    public void setOutputDir(Path outputDir) {
+        this.outputDir = outputDir;
+    }
+
+    public double getMaxHeapSlopeMbPerHour() {
+        return maxHeapSlopeMbPerHour;
+    }
+
+    public void setMaxHeapSlopeMbPerHour(double maxHeapSlopeMbPerHour) {
+        this.maxHeapSlopeMbPerHour = maxHeapSlopeMbPerHour;
+    }
+
+    public double getMaxThreadSlopePerHour() {
+        return maxThreadSlopePerHour;
+    }
+
+    public void setMaxThreadSlopePerHour(double maxThreadSlopePerHour) {
+        this.maxThreadSlopePerHour = maxThreadSlopePerHour;
+    }
+
+    public double getMaxConnectionSlopePerHour() {
+        return maxConnectionSlopePerHour;
+    }
+
+    public void setMaxConnectionSlopePerHour(double maxConnectionSlopePerHour) {
+        this.maxConnectionSlopePerHour = maxConnectionSlopePerHour;
+    }
+
+    public Duration getJfrMaxAge() {
+        return jfrMaxAge;
+    }
+
+    public void setJfrMaxAge(Duration jfrMaxAge) {
+        this.jfrMaxAge = jfrMaxAge;
+    }
+
+    public long getJfrMaxSizeMb() {
+        return jfrMaxSizeMb;
+    }
+
+    public void setJfrMaxSizeMb(long jfrMaxSizeMb) {
+        this.jfrMaxSizeMb = jfrMaxSizeMb;
+    }
+}
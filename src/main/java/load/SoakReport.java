@@ -0,0 +1,134 @@
+package load;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+
+// Итог soak-прогона: тренды ресурсов и превышения допустимого наклона
+public class SoakReport {
+
+    private static final double MILLIS_PER_HOUR = 3_600_000d;
+    private static final double BYTES_PER_MB = 1024d * 1024d;
+
+    private final List<ResourceSample> samples;
+    private final long warmupMillis;
+    private final long iterations;
+    private final long failedIterations;
+    private final double heapSlopeMbPerHour;
+    private final double threadSlopePerHour;
+    private final double connectionSlopePerHour;
+    private final List<String> violations = new ArrayList<>();
+
+    public SoakReport(SoakConfig config, List<ResourceSample> samples, long iterations, long failedIterations) {
+        this.samples = List.copyOf(samples);
+        this.warmupMillis = config.getWarmup().toMillis();
+        this.iterations = iterations;
+        this.failedIterations = failedIterations;
+
+        List<ResourceSample> steady = steadyStateSamples();
+        this.heapSlopeMbPerHour = slopePerHour(steady, s -> s.getHeapUsedAfterGcBytes() / BYTES_PER_MB);
+        this.threadSlopePerHour = slopePerHour(steady, ResourceSample::getThreadCount);
+        this.connectionSlopePerHour = slopePerHour(steady, ResourceSample::getOpenConnections);
+
+        if (steady.size() < 2) {
+            violations.add("после прогрева " + steady.size() + " замер(ов), тренд ресурсов не посчитан");
+        }
+        check("heap", heapSlopeMbPerHour, config.getMaxHeapSlopeMbPerHour(), "MB/ч");
+        check("threads", threadSlopePerHour, config.getMaxThreadSlopePerHour(), "потоков/ч");
+        check("connections", connectionSlopePerHour, config.getMaxConnectionSlopePerHour(), "соединений/ч");
+    }
+
+    private List<ResourceSample> steadyStateSamples() {
+        List<ResourceSample> steady = new ArrayList<>();
+        for (ResourceSample sample : samples) {
+            if (sample.getElapsedMillis() >= warmupMillis) {
+                steady.add(sample);
+            }
+        }
+        return steady;
+    }
+
+    // Наклон по методу наименьших квадратов, единиц в час
+    static double slopePerHour(List<ResourceSample> samples, ToDoubleFunction<ResourceSample> metric) {
+        int n = samples.size();
+        if (n < 2) {
+            return 0;
+        }
+        double sumX = 0;
+        double sumY = 0;
+        for (ResourceSample sample : samples) {
+            sumX += sample.getElapsedMillis() / MILLIS_PER_HOUR;
+            sumY += metric.applyAsDouble(sample);
+        }
+        double meanX = sumX / n;
+        double meanY = sumY / n;
+        double covariance = 0;
+        double variance = 0;
+        for (ResourceSample sample : samples) {
+            double dx = sample.getElapsedMillis() / MILLIS_PER_HOUR - meanX;
+            covariance += dx * (metric.applyAsDouble(sample) - meanY);
+            variance += dx * dx;
+        }
+        return variance == 0 ? 0 : covariance / variance;
+    }
+
+    private void check(String resource, double slope, double maxSlope, String unit) {
+        if (slope > maxSlope) {
+            violations.add(String.format(Locale.ROOT, "%s растёт на %.2f %s (допустимо %.2f)", resource, slope, unit, maxSlope));
+        }
+    }
+
+    public boolean isPassed() {
+        return violations.isEmpty();
+    }
+
+    public List<String> getViolations() {
+        return violations;
+    }
+
+    public List<ResourceSample> getSamples() {
+        return samples;
+    }
+
+    public double getHeapSlopeMbPerHour() {
+        return heapSlopeMbPerHour;
+    }
+
+    public double getThreadSlopePerHour() {
+        return threadSlopePerHour;
+    }
+
+    public double getConnectionSlopePerHour() {
+        return connectionSlopePerHour;
+    }
+
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "Итерации: %d, из них неуспешных: %d%n", iterations, failedIterations));
+        text.append(String.format(Locale.ROOT, "%10s %14s %8s %12s%n", "t, с", "heap, MB", "threads", "connections"));
+        for (ResourceSample sample : samples) {
+            text.append(String.format(Locale.ROOT, "%10d %14.2f %8d %12d%s%n",
+                    sample.getElapsedMillis() / 1000,
+                    sample.getHeapUsedAfterGcBytes() / BYTES_PER_MB,
+                    sample.getThreadCount(),
+                    sample.getOpenConnections(),
+                    sample.getElapsedMillis() < warmupMillis ? "  (прогрев)" : ""));
+        }
+        text.append(String.format(Locale.ROOT, "Тренд heap: %.2f MB/ч%n", heapSlopeMbPerHour));
+        text.append(String.format(Locale.ROOT, "Тренд threads: %.2f в час%n", threadSlopePerHour));
+        text.append(String.format(Locale.ROOT, "Тренд connections: %.2f в час%n", connectionSlopePerHour));
+        text.append(isPassed() ? "Результат: утечек не обнаружено" : "Результат: " + String.join("; ", violations));
+        text.append(System.lineSeparator());
+        return text.toString();
+    }
+
+    public void writeTo(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, toText().getBytes(StandardCharsets.UTF_8));
+    }
+}
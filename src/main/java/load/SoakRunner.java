@@ -0,0 +1,119 @@
+package load;
+
+import client.ApiCallContext;
+import client.ApiClient;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import routing.EndpointStats;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Долгий прогон UserFlow под JFR-записью с периодическими замерами ресурсов
+public class SoakRunner {
+
+    private final SoakConfig config;
+
+    public SoakRunner(SoakConfig config) {
+        this.config = config;
+    }
+
+    public SoakReport run() throws IOException, InterruptedException {
+        config.validate();
+        Path outputDir = config.getOutputDir();
+        Files.createDirectories(outputDir);
+
+        ApiClient apiClient = new ApiClient(config.getBaseUrl());
+        UserFlow flow = new UserFlow(apiClient);
+        ResourceSampler sampler = new ResourceSampler();
+        List<ResourceSample> samples = Collections.synchronizedList(new ArrayList<>());
+        LongAdder iterations = new LongAdder();
+        LongAdder failures = new LongAdder();
+
+        try (Recording recording = startRecording(outputDir.resolve("soak.jfr"))) {
+            samples.add(sampler.sample());
+            ScheduledExecutorService sampling = Executors.newSingleThreadScheduledExecutor();
+            ExecutorService workers = Executors.newFixedThreadPool(config.getThreads());
+            try {
+                long intervalMillis = config.getSampleInterval().toMillis();
+                sampling.scheduleAtFixedRate(() -> samples.add(sampler.sample()), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+                long deadline = System.nanoTime() + config.getDuration().toNanos();
+                for (int i = 0; i < config.getThreads(); i++) {
+                    workers.submit(() -> {
+                        ApiCallContext.setScenario("soak");
+                        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                            iterations.increment();
+                            try {
+                                if (!flow.runOnce()) {
+                                    failures.increment();
+                                }
+                            } catch (RuntimeException e) {
+                                failures.increment();
+                            }
+                        }
+                    });
+                }
+                workers.shutdown();
+                workers.awaitTermination(config.getDuration().toMillis() + TimeUnit.MINUTES.toMillis(5), TimeUnit.MILLISECONDS);
+            } finally {
+                // Зависший или прерванный прогон не должен оставлять потоки нагрузки и замеров
+                workers.shutdownNow();
+                sampling.shutdownNow();
+            }
+            awaitStopped(workers);
+            awaitStopped(sampling);
+            samples.add(sampler.sample());
+            recording.stop();
+        }
+
+        SoakReport report = new SoakReport(config, samples, iterations.sum(), failures.sum());
+        report.writeTo(outputDir.resolve("soak-report.txt"));
+        writeEndpointStats(apiClient, outputDir.resolve("endpoints.txt"));
+        return report;
+    }
+
+    private static void awaitStopped(ExecutorService executor) throws InterruptedException {
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Потоки soak-прогона не остановились за минуту");
+        }
+    }
+
+    // Распределение запросов по стендам из soak.baseUrl (несколько через запятую)
+    private static void writeEndpointStats(ApiClient apiClient, Path destination) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (EndpointStats stats : apiClient.getEndpoints().stats()) {
+            lines.add(stats.toString());
+        }
+        Files.write(destination, lines);
+    }
+
+    // Профиль "profile" пишет аллокации и блокировки, нужные для поиска утечки в JMC.
+    // В файл попадает окно последних jfrMaxAge/jfrMaxSizeMb - конец прогона, где утечка уже накопилась
+    private Recording startRecording(Path destination) throws IOException {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration("profile");
+        } catch (ParseException e) {
+            throw new IOException("Не удалось загрузить настройки JFR", e);
+        }
+        Recording recording = new Recording(configuration);
+        recording.setName("soak");
+        recording.setToDisk(true);
+        recording.setMaxAge(config.getJfrMaxAge());
+        recording.setMaxSize(config.getJfrMaxSizeMb() * 1024 * 1024);
+        recording.setDestination(destination);
+        recording.start();
+        return recording;
+    }
+}
@@ -0,0 +1,63 @@
+package load;
+
+import client.ApiClient;
+import client.ApiResult;
+import client.TypedApiClient;
+import model.AuthResponse;
+import model.IngredientsResponse;
+import model.User;
+import model.UserCredentials;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Сквозной сценарий: регистрация -> логин -> заказ -> список заказов -> удаление пользователя
+public class UserFlow implements Scenario {
+
+    // Префикс уникален для JVM, чтобы email не пересекались между воркерами распределённой нагрузки
+    private static final String RUN_ID = Long.toString(System.currentTimeMillis(), 36)
+            + Integer.toString(ThreadLocalRandom.current().nextInt(1 << 20), 36);
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final TypedApiClient apiClient;
+    private final String orderBody;
+
+    public UserFlow(ApiClient apiClient) {
+        this.apiClient = new TypedApiClient(apiClient);
+
+        ApiResult<IngredientsResponse> ingredientsResult = this.apiClient.getIngredients();
+        if (ingredientsResult.statusCode() != 200) {
+            throw new IllegalStateException("Не удалось получить список ингредиентов: " + ingredientsResult.statusCode());
+        }
+        List<String> ingredientIds = ingredientsResult.body().ingredientIds();
+        if (ingredientIds.size() < 2) {
+            throw new IllegalStateException("Для заказа нужно минимум два ингредиента");
+        }
+        this.orderBody = String.format("{\"ingredients\": [\"%s\", \"%s\"]}", ingredientIds.get(0), ingredientIds.get(1));
+    }
+
+    @Override
+    public boolean runOnce() {
+        String email = "loadtest-" + RUN_ID + "-" + SEQUENCE.incrementAndGet() + "@yandex.ru";
+        User user = new User(email, "12345", "Roms");
+
+        ApiResult<AuthResponse> createResult = apiClient.createUser(user);
+        if (createResult.statusCode() != 200) {
+            return false;
+        }
+        String accessToken = createResult.body().getAccessToken();
+        try {
+            // Тело логина сценарию не нужно, поэтому оно и не разбирается
+            if (apiClient.loginUser(new UserCredentials(email, "12345")).statusCode() != 200) {
+                return false;
+            }
+            if (apiClient.createOrder(accessToken, orderBody).statusCode() != 200) {
+                return false;
+            }
+            return apiClient.getUserOrders(accessToken).statusCode() == 200;
+        } finally {
+            apiClient.deleteUser(accessToken);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package load;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Задание координатора воркеру: сценарии шарда, доля частоты прихода и длительность
+public class WorkerAssignment {
+
+    private final List<String> scenarios;
+    private final double arrivalRatePerSecond;
+    private final long durationMillis;
+    private final String baseUrl;
+
+    public WorkerAssignment(List<String> scenarios, double arrivalRatePerSecond, long durationMillis, String baseUrl) {
+        this.scenarios = List.copyOf(scenarios);
+        this.arrivalRatePerSecond = arrivalRatePerSecond;
+        this.durationMillis = durationMillis;
+        this.baseUrl = baseUrl;
+    }
+
+    public List<String> getScenarios() {
+        return scenarios;
+    }
+
+    public double getArrivalRatePerSecond() {
+        return arrivalRatePerSecond;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(scenarios.size());
+        for (String scenario : scenarios) {
+            out.writeUTF(scenario);
+        }
+        out.writeDouble(arrivalRatePerSecond);
+        out.writeLong(durationMillis);
+        out.writeUTF(baseUrl);
+        out.flush();
+    }
+
+    static WorkerAssignment readFrom(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<String> scenarios = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            scenarios.add(in.readUTF());
+        }
+        return new WorkerAssignment(scenarios, in.readDouble(), in.readLong(), in.readUTF());
+    }
+}
@@ -0,0 +1,73 @@
+package metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Счётчики одного эндпоинта ApiClient
+public class EndpointMetrics {
+
+    private final String method;
+    private final String endpoint;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder schemaViolations = new LongAdder();
+    private final Map<Integer, LongAdder> errorsByStatus = new ConcurrentHashMap<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    EndpointMetrics(String method, String endpoint) {
+        this.method = method;
+        this.endpoint = endpoint;
+    }
+
+    public void requestStarted() {
+        requests.increment();
+        inFlight.increment();
+    }
+
+    // status 0 - ответ не получен (обрыв соединения, таймаут)
+    public void requestFinished(int status, long durationNanos) {
+        inFlight.decrement();
+        latency.recordNanos(durationNanos);
+        if (status == 0 || status >= 400) {
+            errorsByStatus.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+    }
+
+    public void schemaViolation() {
+        schemaViolations.increment();
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    public long getSchemaViolations() {
+        return schemaViolations.sum();
+    }
+
+    public long getErrors(int status) {
+        LongAdder errors = errorsByStatus.get(status);
+        return errors == null ? 0 : errors.sum();
+    }
+
+    Map<Integer, LongAdder> getErrorsByStatus() {
+        return errorsByStatus;
+    }
+
+    public HistogramSnapshot latencySnapshot() {
+        return latency.snapshot();
+    }
+}
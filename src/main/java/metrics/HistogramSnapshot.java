@@ -0,0 +1,94 @@
+package metrics;
+
+import java.util.Arrays;
+
+// Неизменяемый срез LatencyHistogram: его можно сливать с другими срезами и передавать по сети
+public class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long sumMicros;
+    private final long totalCount;
+
+    public HistogramSnapshot(long[] counts, long sumMicros) {
+        if (counts.length != LatencyHistogram.BUCKET_COUNT) {
+            throw new IllegalArgumentException("Ожидалось " + LatencyHistogram.BUCKET_COUNT + " корзин, получено " + counts.length);
+        }
+        this.counts = counts.clone();
+        this.sumMicros = sumMicros;
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        this.totalCount = total;
+    }
+
+    public static HistogramSnapshot empty() {
+        return new HistogramSnapshot(new long[LatencyHistogram.BUCKET_COUNT], 0);
+    }
+
+    public HistogramSnapshot merge(HistogramSnapshot other) {
+        long[] merged = counts.clone();
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] += other.counts[i];
+        }
+        return new HistogramSnapshot(merged, sumMicros + other.sumMicros);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getSumMicros() {
+        return sumMicros;
+    }
+
+    public long[] getCounts() {
+        return counts.clone();
+    }
+
+    // Число значений не больше границы (как le в Prometheus), граница должна совпадать с границей корзины
+    public long countAtMost(long upperBoundMicros) {
+        long count = 0;
+        for (int i = 0; i < counts.length && LatencyHistogram.bucketUpperBound(i) <= upperBoundMicros; i++) {
+            count += counts[i];
+        }
+        return count;
+    }
+
+    public double meanMicros() {
+        return totalCount == 0 ? 0 : (double) sumMicros / totalCount;
+    }
+
+    // Перцентиль (0..100) как верхняя граница корзины, в которую он попадает
+    public long percentileMicros(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(totalCount * percentile / 100d));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return LatencyHistogram.bucketUpperBound(i);
+            }
+        }
+        return LatencyHistogram.bucketUpperBound(counts.length - 1);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HistogramSnapshot)) {
+            return false;
+        }
+        HistogramSnapshot that = (HistogramSnapshot) o;
+        return sumMicros == that.sumMicros && Arrays.equals(counts, that.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(counts) + Long.hashCode(sumMicros);
+    }
+}
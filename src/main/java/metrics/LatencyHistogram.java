@@ -0,0 +1,67 @@
+package metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Лог-линейная гистограмма задержек в микросекундах: 8 поддиапазонов на каждую степень двойки
+// (погрешность не больше 12.5%), счётчики LongAdder не блокируют пишущие потоки
+public class LatencyHistogram {
+
+    static final int LINEAR_BUCKETS = 16;
+    static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int MIN_EXPONENT = 4;
+    static final int MAX_EXPONENT = 36;
+    public static final int BUCKET_COUNT = LINEAR_BUCKETS + (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS;
+
+    private final LongAdder[] counts = new LongAdder[BUCKET_COUNT];
+    private final LongAdder sumMicros = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void recordNanos(long nanos) {
+        recordMicros(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public void recordMicros(long micros) {
+        long value = Math.max(0, micros);
+        counts[bucketIndex(value)].increment();
+        sumMicros.add(value);
+    }
+
+    public HistogramSnapshot snapshot() {
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts[i].sum();
+        }
+        return new HistogramSnapshot(snapshot, sumMicros.sum());
+    }
+
+    // Корзины включают верхнюю границу: (нижняя, верхняя], значение на границе попадает в корзину le этой границы
+    static int bucketIndex(long micros) {
+        long offset = Math.max(0, micros - 1);
+        if (offset < LINEAR_BUCKETS) {
+            return (int) offset;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(offset);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (offset >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    // Верхняя (включающая) граница корзины в микросекундах
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index + 1;
+        }
+        int exponent = MIN_EXPONENT + (index - LINEAR_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS);
+    }
+}
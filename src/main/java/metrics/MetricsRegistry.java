@@ -0,0 +1,66 @@
+package metrics;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Реестр клиентских метрик ApiClient. Глобальный экземпляр сам выгружается в textfile,
+// если задано -Dmetrics.textfile=/path/stellarburgers.prom (период -Dmetrics.interval, по умолчанию 15s)
+public class MetricsRegistry {
+
+    private static final MetricsRegistry GLOBAL = createGlobal();
+
+    private final ConcurrentHashMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public EndpointMetrics endpoint(String method, String endpoint) {
+        String key = method + " " + endpoint;
+        EndpointMetrics metrics = endpoints.get(key);
+        if (metrics == null) {
+            metrics = endpoints.computeIfAbsent(key, k -> new EndpointMetrics(method, endpoint));
+        }
+        return metrics;
+    }
+
+    public List<EndpointMetrics> endpoints() {
+        List<EndpointMetrics> sorted = new ArrayList<>(endpoints.values());
+        sorted.sort(Comparator.comparing(EndpointMetrics::getEndpoint).thenComparing(EndpointMetrics::getMethod));
+        return sorted;
+    }
+
+    public PrometheusTextExporter startTextfileExport(Path file, Duration interval) {
+        return new PrometheusTextExporter(this, file, interval);
+    }
+
+    private static MetricsRegistry createGlobal() {
+        MetricsRegistry registry = new MetricsRegistry();
+        String textfile = System.getProperty("metrics.textfile");
+        if (textfile != null && !textfile.isBlank()) {
+            String interval = System.getProperty("metrics.interval", "15s");
+            PrometheusTextExporter exporter = registry.startTextfileExport(Paths.get(textfile), parseInterval(interval));
+            Runtime.getRuntime().addShutdownHook(new Thread(exporter::close, "metrics-textfile-final"));
+        }
+        return registry;
+    }
+
+    private static Duration parseInterval(String value) {
+        String trimmed = value.trim();
+        if (trimmed.startsWith("P") || trimmed.startsWith("p")) {
+            return Duration.parse(trimmed);
+        }
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        if (trimmed.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(trimmed));
+    }
+}
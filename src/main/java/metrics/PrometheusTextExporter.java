@@ -0,0 +1,133 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Периодическая выгрузка MetricsRegistry в текстовом формате Prometheus 0.0.4 - его читает textfile collector
+// node exporter (OpenMetrics он не понимает). Файл подменяется атомарно, collector не видит его недописанным
+public class PrometheusTextExporter implements AutoCloseable {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    // Границы le в микросекундах: степени двойки от 256 мкс до ~134 с
+    private static final int FIRST_BUCKET_EXPONENT = 8;
+    private static final int LAST_BUCKET_EXPONENT = 27;
+
+    private final MetricsRegistry registry;
+    private final Path file;
+    private final ScheduledExecutorService scheduler;
+
+    PrometheusTextExporter(MetricsRegistry registry, Path file, Duration interval) {
+        this.registry = registry;
+        this.file = file;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-textfile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleAtFixedRate(this::writeQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public void write() throws IOException {
+        Path target = file.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, format(registry).getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeQuietly() {
+        try {
+            write();
+        } catch (IOException e) {
+            // следующая попытка будет через интервал, нагрузку из-за метрик не роняем
+        }
+    }
+
+    public static String format(MetricsRegistry registry) {
+        StringBuilder out = new StringBuilder();
+
+        out.append("# HELP stellarburgers_client_requests_total Requests sent by ApiClient.\n");
+        out.append("# TYPE stellarburgers_client_requests_total counter\n");
+        for (EndpointMetrics metrics : registry.endpoints()) {
+            out.append("stellarburgers_client_requests_total").append(labels(metrics)).append(' ')
+                    .append(metrics.getRequests()).append('\n');
+        }
+
+        out.append("# HELP stellarburgers_client_errors_total Failed ApiClient requests by HTTP status, 0 means no response.\n");
+        out.append("# TYPE stellarburgers_client_errors_total counter\n");
+        for (EndpointMetrics metrics : registry.endpoints()) {
+            for (Map.Entry<Integer, LongAdder> errors : metrics.getErrorsByStatus().entrySet()) {
+                String labels = labels(metrics);
+                out.append("stellarburgers_client_errors_total")
+                        .append(labels, 0, labels.length() - 1)
+                        .append(",status=\"").append(errors.getKey()).append("\"} ")
+                        .append(errors.getValue().sum()).append('\n');
+            }
+        }
+
+        out.append("# HELP stellarburgers_client_schema_violations_total Responses that broke the endpoint JSON schema.\n");
+        out.append("# TYPE stellarburgers_client_schema_violations_total counter\n");
+        for (EndpointMetrics metrics : registry.endpoints()) {
+            out.append("stellarburgers_client_schema_violations_total").append(labels(metrics)).append(' ')
+                    .append(metrics.getSchemaViolations()).append('\n');
+        }
+
+        out.append("# HELP stellarburgers_client_in_flight_requests ApiClient requests awaiting a response.\n");
+        out.append("# TYPE stellarburgers_client_in_flight_requests gauge\n");
+        for (EndpointMetrics metrics : registry.endpoints()) {
+            out.append("stellarburgers_client_in_flight_requests").append(labels(metrics)).append(' ')
+                    .append(metrics.getInFlight()).append('\n');
+        }
+
+        out.append("# HELP stellarburgers_client_request_duration_seconds ApiClient request latency.\n");
+        out.append("# TYPE stellarburgers_client_request_duration_seconds histogram\n");
+        for (EndpointMetrics metrics : registry.endpoints()) {
+            HistogramSnapshot latency = metrics.latencySnapshot();
+            String labels = labels(metrics);
+            String bucketPrefix = "stellarburgers_client_request_duration_seconds_bucket" + labels.substring(0, labels.length() - 1) + ",le=\"";
+            for (int exponent = FIRST_BUCKET_EXPONENT; exponent <= LAST_BUCKET_EXPONENT; exponent++) {
+                long boundMicros = 1L << exponent;
+                out.append(bucketPrefix).append(seconds(boundMicros)).append("\"} ")
+                        .append(latency.countAtMost(boundMicros)).append('\n');
+            }
+            out.append(bucketPrefix).append("+Inf\"} ").append(latency.getTotalCount()).append('\n');
+            out.append("stellarburgers_client_request_duration_seconds_sum").append(labels).append(' ')
+                    .append(seconds(latency.getSumMicros())).append('\n');
+            out.append("stellarburgers_client_request_duration_seconds_count").append(labels).append(' ')
+                    .append(latency.getTotalCount()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String labels(EndpointMetrics metrics) {
+        return "{method=\"" + metrics.getMethod() + "\",endpoint=\"" + metrics.getEndpoint() + "\"}";
+    }
+
+    private static String seconds(long micros) {
+        return String.format(Locale.ROOT, "%.6f", micros / 1_000_000d);
+    }
+
+    // Останавливает выгрузку и записывает последний срез
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            write();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
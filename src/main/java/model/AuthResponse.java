@@ -0,0 +1,33 @@
+package model;
+
+// Ответ регистрации и логина
+public final class AuthResponse {
+
+    private final boolean success;
+    private final UserProfile user;
+    private final String accessToken;
+    private final String refreshToken;
+
+    public AuthResponse(boolean success, UserProfile user, String accessToken, String refreshToken) {
+        this.success = success;
+        this.user = user;
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public UserProfile getUser() {
+        return user;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+}
@@ -0,0 +1,21 @@
+package model;
+
+// Ответ API с ошибкой (4xx)
+public final class ErrorResponse {
+
+    private final boolean success;
+    private final String message;
+
+    public ErrorResponse(boolean success, String message) {
+        this.success = success;
+        this.message = message;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,36 @@
+package model;
+
+import com.google.gson.annotations.SerializedName;
+
+// Ингредиент бургера
+public final class Ingredient {
+
+    @SerializedName("_id")
+    private final String id;
+    private final String name;
+    private final String type;
+    private final double price;
+
+    public Ingredient(String id, String name, String type, double price) {
+        this.id = id;
+        this.name = name;
+        this.type = type;
+        this.price = price;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+}
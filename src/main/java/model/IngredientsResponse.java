@@ -0,0 +1,33 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Ответ списка ингредиентов
+public final class IngredientsResponse {
+
+    private final boolean success;
+    private final List<Ingredient> data;
+
+    public IngredientsResponse(boolean success, List<Ingredient> data) {
+        this.success = success;
+        this.data = List.copyOf(data);
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public List<Ingredient> getData() {
+        return data == null ? List.of() : Collections.unmodifiableList(data);
+    }
+
+    public List<String> ingredientIds() {
+        List<String> ids = new ArrayList<>(getData().size());
+        for (Ingredient ingredient : getData()) {
+            ids.add(ingredient.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,21 @@
+package model;
+
+// Успешный ответ с сообщением (удаление пользователя)
+public final class MessageResponse {
+
+    private final boolean success;
+    private final String message;
+
+    public MessageResponse(boolean success, String message) {
+        this.success = success;
+        this.message = message;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,57 @@
+package model;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.Collections;
+import java.util.List;
+
+// Заказ из списка заказов пользователя и из ленты заказов
+public final class Order {
+
+    @SerializedName("_id")
+    private final String id;
+    private final List<String> ingredients;
+    private final String status;
+    private final String name;
+    private final long number;
+    private final String createdAt;
+    private final String updatedAt;
+
+    public Order(String id, List<String> ingredients, String status, String name, long number, String createdAt, String updatedAt) {
+        this.id = id;
+        this.ingredients = List.copyOf(ingredients);
+        this.status = status;
+        this.name = name;
+        this.number = number;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public List<String> getIngredients() {
+        return ingredients == null ? List.of() : Collections.unmodifiableList(ingredients);
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getNumber() {
+        return number;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getUpdatedAt() {
+        return updatedAt;
+    }
+}
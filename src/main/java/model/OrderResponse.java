@@ -0,0 +1,41 @@
+package model;
+
+// Ответ создания заказа
+public final class OrderResponse {
+
+    private final boolean success;
+    private final String name;
+    private final CreatedOrder order;
+
+    public OrderResponse(boolean success, String name, CreatedOrder order) {
+        this.success = success;
+        this.name = name;
+        this.order = order;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CreatedOrder getOrder() {
+        return order;
+    }
+
+    // Для авторизованного пользователя API отдаёт расширенный заказ, общим в обоих вариантах является номер
+    public static final class CreatedOrder {
+
+        private final long number;
+
+        public CreatedOrder(long number) {
+            this.number = number;
+        }
+
+        public long getNumber() {
+            return number;
+        }
+    }
+}
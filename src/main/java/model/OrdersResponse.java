@@ -0,0 +1,36 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+
+// Ответ списка заказов пользователя
+public final class OrdersResponse {
+
+    private final boolean success;
+    private final List<Order> orders;
+    private final long total;
+    private final long totalToday;
+
+    public OrdersResponse(boolean success, List<Order> orders, long total, long totalToday) {
+        this.success = success;
+        this.orders = List.copyOf(orders);
+        this.total = total;
+        this.totalToday = totalToday;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public List<Order> getOrders() {
+        return orders == null ? List.of() : Collections.unmodifiableList(orders);
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getTotalToday() {
+        return totalToday;
+    }
+}
@@ -0,0 +1,21 @@
+package model;
+
+// Публичные данные пользователя из ответов API (без пароля)
+public final class UserProfile {
+
+    private final String email;
+    private final String name;
+
+    public UserProfile(String email, String name) {
+        this.email = email;
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,21 @@
+package model;
+
+// Ответ получения и обновления данных пользователя
+public final class UserResponse {
+
+    private final boolean success;
+    private final UserProfile user;
+
+    public UserResponse(boolean success, UserProfile user) {
+        this.success = success;
+        this.user = user;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public UserProfile getUser() {
+        return user;
+    }
+}
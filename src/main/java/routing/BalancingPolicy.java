@@ -0,0 +1,71 @@
+package routing;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Выбор стенда для очередного запроса среди доступных (не исключённых) стендов пула, список не пуст
+@FunctionalInterface
+public interface BalancingPolicy {
+
+    Endpoint choose(List<Endpoint> candidates);
+
+    // По кругу, без учёта нагрузки
+    static BalancingPolicy roundRobin() {
+        AtomicInteger next = new AtomicInteger();
+        return candidates -> candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    // Стенд с наименьшим числом запросов в полёте, при равенстве - первый по кругу
+    static BalancingPolicy leastOutstanding() {
+        AtomicInteger next = new AtomicInteger();
+        return candidates -> {
+            int offset = Math.floorMod(next.getAndIncrement(), candidates.size());
+            Endpoint best = null;
+            for (int i = 0; i < candidates.size(); i++) {
+                Endpoint endpoint = candidates.get((offset + i) % candidates.size());
+                if (best == null || endpoint.getOutstanding() < best.getOutstanding()) {
+                    best = endpoint;
+                }
+            }
+            return best;
+        };
+    }
+
+    // Два случайных стенда, из них - с меньшей оценкой EWMA задержки * (запросы в полёте + 1).
+    // Случайная пара не даёт всем потокам одновременно набрасываться на один "лучший" стенд
+    static BalancingPolicy ewmaPowerOfTwo() {
+        return candidates -> {
+            if (candidates.size() == 1) {
+                return candidates.get(0);
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(candidates.size());
+            int second = random.nextInt(candidates.size() - 1);
+            if (second >= first) {
+                second++;
+            }
+            Endpoint a = candidates.get(first);
+            Endpoint b = candidates.get(second);
+            return cost(b) < cost(a) ? b : a;
+        };
+    }
+
+    private static double cost(Endpoint endpoint) {
+        return endpoint.getEwmaNanos() * (endpoint.getOutstanding() + 1);
+    }
+
+    // round-robin, least-outstanding или ewma (значение -Dapi.balancing)
+    static BalancingPolicy byName(String name) {
+        switch (name) {
+            case "round-robin":
+                return roundRobin();
+            case "least-outstanding":
+                return leastOutstanding();
+            case "ewma":
+                return ewmaPowerOfTwo();
+            default:
+                throw new IllegalArgumentException("Неизвестная политика балансировки: " + name);
+        }
+    }
+}
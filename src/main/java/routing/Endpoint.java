@@ -0,0 +1,102 @@
+package routing;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Один стенд (реплика) в пуле: счётчики, EWMA задержки и состояние исключения из балансировки
+public final class Endpoint {
+
+    // Вес нового замера в EWMA задержки при частых замерах
+    private static final double EWMA_ALPHA = 0.3;
+
+    private final String baseUrl;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder ejections = new LongAdder();
+    // Постоянная времени затухания EWMA без замеров
+    private volatile long ewmaDecayNanos = Duration.ofSeconds(5).toNanos();
+    private double ewmaNanos;
+    private long ewmaUpdatedNanos;
+    private volatile long ejectedUntilNanos;
+    // false до первого исключения: у System.nanoTime нет нулевой точки, сам ejectedUntilNanos = 0 ничего не значит
+    private volatile boolean ejected;
+
+    Endpoint(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    // 0 - замеров ещё не было, такой стенд выглядит для EWMA-политики самым быстрым и сразу получает пробный запрос.
+    // Без новых замеров оценка затухает к нулю: стенд, который однажды ответил медленно и перестал выбираться,
+    // со временем снова получает пробный запрос, а не остаётся без трафика навсегда
+    public double getEwmaNanos() {
+        return ewmaNanos(System.nanoTime());
+    }
+
+    synchronized double ewmaNanos(long nowNanos) {
+        return ewmaNanos == 0 ? 0 : ewmaNanos * decay(nowNanos);
+    }
+
+    void setEwmaDecayNanos(long ewmaDecayNanos) {
+        this.ewmaDecayNanos = ewmaDecayNanos;
+    }
+
+    // Доля, которая осталась от оценки с момента последнего замера
+    private double decay(long nowNanos) {
+        return Math.exp(-(double) (nowNanos - ewmaUpdatedNanos) / ewmaDecayNanos);
+    }
+
+    boolean isAvailable(long nowNanos) {
+        return !ejected || nowNanos - ejectedUntilNanos >= 0;
+    }
+
+    void started() {
+        requests.increment();
+        outstanding.incrementAndGet();
+    }
+
+    // Неудачные ответы обычно быстрые (503, отказ в соединении), поэтому в EWMA идут не меньше удвоенного
+    // текущего значения - иначе падающий стенд казался бы самым быстрым и притягивал трафик.
+    // Вес прежней оценки (1 - EWMA_ALPHA) затухает вместе с ней: после долгого простоя её заменяет новый замер
+    void finished(boolean failed, long durationNanos, int failuresToEject, long ejectionNanos, long nowNanos) {
+        outstanding.decrementAndGet();
+        synchronized (this) {
+            double sample = failed ? Math.max(durationNanos, 2 * ewmaNanos(nowNanos)) : durationNanos;
+            double weight = (1 - EWMA_ALPHA) * decay(nowNanos);
+            ewmaNanos = ewmaNanos == 0 ? sample : weight * ewmaNanos + (1 - weight) * sample;
+            ewmaUpdatedNanos = nowNanos;
+        }
+        if (!failed) {
+            consecutiveFailures.set(0);
+            return;
+        }
+        failures.increment();
+        if (consecutiveFailures.incrementAndGet() < failuresToEject || ejected && nowNanos - ejectedUntilNanos < 0) {
+            return;
+        }
+        consecutiveFailures.set(0);
+        ejectedUntilNanos = nowNanos + ejectionNanos;
+        ejected = true;
+        ejections.increment();
+    }
+
+    EndpointStats stats(long nowNanos) {
+        return new EndpointStats(baseUrl, requests.sum(), failures.sum(), outstanding.get(),
+                ewmaNanos(nowNanos) / 1_000_000d, ejections.sum(), !isAvailable(nowNanos));
+    }
+
+    @Override
+    public String toString() {
+        return baseUrl;
+    }
+}
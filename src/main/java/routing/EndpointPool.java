@@ -0,0 +1,98 @@
+package routing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Набор стендов (реплик) одного API и политика распределения запросов между ними.
+// Стенд, ответивший подряд failuresToEject раз без ответа или статусом 5xx, на ejectionTime выводится
+// из балансировки. Если исключены все стенды, запросы идут по всем: лучше ошибка стенда, чем отказ клиента.
+// EWMA задержки стенда без новых замеров затухает с постоянной времени ewmaDecay (по умолчанию 5 с)
+public class EndpointPool {
+
+    private final List<Endpoint> endpoints;
+    private final BalancingPolicy policy;
+    private volatile int failuresToEject = 5;
+    private volatile long ejectionNanos = Duration.ofSeconds(10).toNanos();
+
+    public EndpointPool(List<String> baseUrls, BalancingPolicy policy) {
+        if (baseUrls.isEmpty()) {
+            throw new IllegalArgumentException("Нужен хотя бы один базовый URL");
+        }
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (String baseUrl : baseUrls) {
+            endpoints.add(new Endpoint(baseUrl));
+        }
+        this.endpoints = List.copyOf(endpoints);
+        this.policy = policy;
+    }
+
+    // Базовые URL через запятую, политика из -Dapi.balancing (по умолчанию ewma)
+    public static EndpointPool parse(String baseUrls) {
+        List<String> urls = new ArrayList<>();
+        for (String url : baseUrls.split(",")) {
+            if (!url.isBlank()) {
+                urls.add(url.trim());
+            }
+        }
+        return new EndpointPool(urls, BalancingPolicy.byName(System.getProperty("api.balancing", "ewma")));
+    }
+
+    public EndpointPool ejection(int failuresToEject, Duration ejectionTime) {
+        this.failuresToEject = failuresToEject;
+        this.ejectionNanos = ejectionTime.toNanos();
+        return this;
+    }
+
+    public EndpointPool ewmaDecay(Duration decayTime) {
+        if (decayTime.isZero() || decayTime.isNegative()) {
+            throw new IllegalArgumentException("Время затухания EWMA должно быть положительным: " + decayTime);
+        }
+        for (Endpoint endpoint : endpoints) {
+            endpoint.setEwmaDecayNanos(decayTime.toNanos());
+        }
+        return this;
+    }
+
+    // Выбирает стенд и учитывает запрос в полёте; каждый acquire завершается release
+    public Endpoint acquire() {
+        Endpoint endpoint;
+        if (endpoints.size() == 1) {
+            endpoint = endpoints.get(0);
+        } else {
+            List<Endpoint> available = available(System.nanoTime());
+            endpoint = policy.choose(available.isEmpty() ? endpoints : available);
+        }
+        endpoint.started();
+        return endpoint;
+    }
+
+    // status 0 - ответ не получен (обрыв соединения, таймаут)
+    public void release(Endpoint endpoint, int status, long durationNanos) {
+        boolean failed = status == 0 || status >= 500;
+        endpoint.finished(failed, durationNanos, failuresToEject, ejectionNanos, System.nanoTime());
+    }
+
+    private List<Endpoint> available(long nowNanos) {
+        List<Endpoint> available = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.isAvailable(nowNanos)) {
+                available.add(endpoint);
+            }
+        }
+        return available;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public List<EndpointStats> stats() {
+        long now = System.nanoTime();
+        List<EndpointStats> stats = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            stats.add(endpoint.stats(now));
+        }
+        return stats;
+    }
+}
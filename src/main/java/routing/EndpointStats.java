@@ -0,0 +1,60 @@
+package routing;
+
+import java.util.Locale;
+
+// Снимок счётчиков одного стенда пула
+public final class EndpointStats {
+
+    private final String baseUrl;
+    private final long requests;
+    private final long failures;
+    private final int outstanding;
+    private final double ewmaMillis;
+    private final long ejections;
+    private final boolean ejected;
+
+    EndpointStats(String baseUrl, long requests, long failures, int outstanding, double ewmaMillis, long ejections, boolean ejected) {
+        this.baseUrl = baseUrl;
+        this.requests = requests;
+        this.failures = failures;
+        this.outstanding = outstanding;
+        this.ewmaMillis = ewmaMillis;
+        this.ejections = ejections;
+        this.ejected = ejected;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    // Ответ не получен или статус 5xx
+    public long getFailures() {
+        return failures;
+    }
+
+    public int getOutstanding() {
+        return outstanding;
+    }
+
+    public double getEwmaMillis() {
+        return ewmaMillis;
+    }
+
+    public long getEjections() {
+        return ejections;
+    }
+
+    public boolean isEjected() {
+        return ejected;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s requests=%d failures=%d outstanding=%d ewma=%.1fms ejections=%d%s",
+                baseUrl, requests, failures, outstanding, ewmaMillis, ejections, ejected ? " EJECTED" : "");
+    }
+}
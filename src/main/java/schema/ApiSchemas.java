@@ -0,0 +1,99 @@
+package schema;
+
+import io.restassured.response.Response;
+import metrics.EndpointMetrics;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Контракты эндпоинтов ApiClient. Схемы компилируются один раз при создании, каждый ответ
+// проверяется одним потоковым проходом. Режим -Dapi.schemaValidation: strict (по умолчанию) -
+// исключение, record - только счётчик в метриках, off - проверка выключена
+public class ApiSchemas {
+
+    public enum Mode {
+        STRICT, RECORD, OFF;
+
+        // Неизвестный режим - понятная ошибка со списком допустимых, а не ExceptionInInitializerError
+        public static Mode parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Неизвестный режим api.schemaValidation: " + value
+                        + ", допустимы strict, record, off", e);
+            }
+        }
+    }
+
+    private static volatile ApiSchemas defaults;
+
+    private final Mode mode;
+    private final Map<String, JsonSchema> successSchemas = new HashMap<>();
+    private final JsonSchema errorSchema;
+
+    public ApiSchemas(Mode mode) {
+        this.mode = mode;
+        SchemaCompiler compiler = new SchemaCompiler();
+        successSchemas.put(key("POST", "api/auth/register"), compiler.compile("auth.json"));
+        successSchemas.put(key("POST", "api/auth/login"), compiler.compile("auth.json"));
+        successSchemas.put(key("GET", "api/auth/user"), compiler.compile("user-response.json"));
+        successSchemas.put(key("PATCH", "api/auth/user"), compiler.compile("user-response.json"));
+        successSchemas.put(key("DELETE", "api/auth/user"), compiler.compile("message.json"));
+        successSchemas.put(key("GET", "api/ingredients"), compiler.compile("ingredients.json"));
+        successSchemas.put(key("POST", "api/orders"), compiler.compile("order-created.json"));
+        successSchemas.put(key("GET", "api/orders"), compiler.compile("orders.json"));
+        errorSchema = compiler.compile("error.json");
+    }
+
+    // Создаются при первом обращении, чтобы ошибка в -Dapi.schemaValidation не ломала загрузку класса
+    public static ApiSchemas defaults() {
+        ApiSchemas schemas = defaults;
+        if (schemas == null) {
+            synchronized (ApiSchemas.class) {
+                if (defaults == null) {
+                    defaults = new ApiSchemas(Mode.parse(System.getProperty("api.schemaValidation", "strict")));
+                }
+                schemas = defaults;
+            }
+        }
+        return schemas;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void validate(String method, String path, Response response, EndpointMetrics metrics) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        List<String> violations = check(method, path, response.statusCode(), response.contentType(), response.asByteArray());
+        if (violations.isEmpty()) {
+            return;
+        }
+        metrics.schemaViolation();
+        if (mode == Mode.STRICT) {
+            throw new SchemaViolationException(method + " " + path, response.statusCode(), violations);
+        }
+    }
+
+    // 2xx сверяется со схемой эндпоинта, 4xx - со схемой ошибки; 5xx отдаёт HTML и не проверяется
+    public List<String> check(String method, String path, int status, String contentType, byte[] body) {
+        boolean success = status >= 200 && status < 300;
+        JsonSchema schema = success ? successSchemas.get(key(method, path))
+                : status >= 400 && status < 500 ? errorSchema : null;
+        if (schema == null) {
+            return List.of();
+        }
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).contains("json")) {
+            return success ? List.of("$: ожидался JSON, получен " + contentType) : List.of();
+        }
+        return StreamingValidator.validate(schema, body);
+    }
+
+    private static String key(String method, String path) {
+        return method + " " + path;
+    }
+}
@@ -0,0 +1,76 @@
+package schema;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+// Скомпилированный узел JSON-схемы. Поддерживается подмножество draft-07, которого хватает
+// для контрактов Stellar Burgers: type, enum, properties, required, additionalProperties, items, $ref
+public class JsonSchema {
+
+    public enum Type {
+        OBJECT, ARRAY, STRING, INTEGER, NUMBER, BOOLEAN, NULL
+    }
+
+    // Схема без ограничений: значение пропускается без разбора
+    static final JsonSchema ANY = new JsonSchema(EnumSet.allOf(Type.class), null, Map.of(), new String[0], true, null);
+
+    private final Set<Type> types;
+    private final Set<String> enumLiterals;
+    private final Map<String, JsonSchema> properties;
+    private final String[] required;
+    private final boolean additionalProperties;
+    private final JsonSchema items;
+
+    JsonSchema(Set<Type> types, Set<String> enumLiterals, Map<String, JsonSchema> properties, String[] required,
+               boolean additionalProperties, JsonSchema items) {
+        this.types = types;
+        this.enumLiterals = enumLiterals;
+        this.properties = properties;
+        this.required = required;
+        this.additionalProperties = additionalProperties;
+        this.items = items;
+    }
+
+    boolean allows(Type type) {
+        return types.contains(type) || type == Type.INTEGER && types.contains(Type.NUMBER);
+    }
+
+    Set<Type> getTypes() {
+        return types;
+    }
+
+    // Литералы enum в виде JSON-текста ("bun", true, 42), null - ограничения нет
+    Set<String> getEnumLiterals() {
+        return enumLiterals;
+    }
+
+    JsonSchema property(String name) {
+        return properties.get(name);
+    }
+
+    String[] getRequired() {
+        return required;
+    }
+
+    int requiredIndex(String name) {
+        for (int i = 0; i < required.length; i++) {
+            if (required[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    boolean isAdditionalPropertiesAllowed() {
+        return additionalProperties;
+    }
+
+    JsonSchema getItems() {
+        return items;
+    }
+
+    boolean isAny() {
+        return this == ANY;
+    }
+}
@@ -0,0 +1,108 @@
+package schema;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Компилирует JSON-схемы из classpath (/schemas/*.json) в дерево JsonSchema.
+// Каждый файл разбирается один раз, $ref на другой файл разрешается при компиляции
+public class SchemaCompiler {
+
+    private static final String ROOT = "/schemas/";
+
+    private final Map<String, JsonSchema> compiled = new HashMap<>();
+
+    public synchronized JsonSchema compile(String file) {
+        JsonSchema schema = compiled.get(file);
+        if (schema == null) {
+            schema = compileNode(load(file), file);
+            compiled.put(file, schema);
+        }
+        return schema;
+    }
+
+    private JsonSchema compileNode(JsonObject node, String file) {
+        if (node.has("$ref")) {
+            return compile(node.get("$ref").getAsString());
+        }
+
+        Set<JsonSchema.Type> types = EnumSet.noneOf(JsonSchema.Type.class);
+        JsonElement type = node.get("type");
+        if (type == null) {
+            types = EnumSet.allOf(JsonSchema.Type.class);
+        } else if (type.isJsonArray()) {
+            for (JsonElement each : type.getAsJsonArray()) {
+                types.add(parseType(each.getAsString(), file));
+            }
+        } else {
+            types.add(parseType(type.getAsString(), file));
+        }
+
+        Set<String> enumLiterals = null;
+        if (node.has("enum")) {
+            enumLiterals = new HashSet<>();
+            for (JsonElement literal : node.getAsJsonArray("enum")) {
+                enumLiterals.add(literal.toString());
+            }
+        }
+
+        Map<String, JsonSchema> properties = new LinkedHashMap<>();
+        if (node.has("properties")) {
+            for (Map.Entry<String, JsonElement> property : node.getAsJsonObject("properties").entrySet()) {
+                properties.put(property.getKey(), compileNode(property.getValue().getAsJsonObject(), file));
+            }
+        }
+
+        String[] required = new String[0];
+        if (node.has("required")) {
+            JsonArray names = node.getAsJsonArray("required");
+            required = new String[names.size()];
+            for (int i = 0; i < required.length; i++) {
+                required[i] = names.get(i).getAsString();
+            }
+        }
+
+        boolean additionalProperties = !node.has("additionalProperties") || node.get("additionalProperties").getAsBoolean();
+        JsonSchema items = node.has("items") ? compileNode(node.getAsJsonObject("items"), file) : null;
+
+        if (type == null && enumLiterals == null && properties.isEmpty() && required.length == 0 && additionalProperties && items == null) {
+            return JsonSchema.ANY;
+        }
+        return new JsonSchema(types, enumLiterals, Map.copyOf(properties), required, additionalProperties, items);
+    }
+
+    private static JsonSchema.Type parseType(String type, String file) {
+        try {
+            return JsonSchema.Type.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Неизвестный тип '" + type + "' в схеме " + file, e);
+        }
+    }
+
+    private static JsonObject load(String file) {
+        InputStream stream = SchemaCompiler.class.getResourceAsStream(ROOT + file);
+        if (stream == null) {
+            throw new IllegalStateException("Схема не найдена: " + ROOT + file);
+        }
+        try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            return JsonParser.parseReader(reader).getAsJsonObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать схему " + file, e);
+        }
+    }
+}
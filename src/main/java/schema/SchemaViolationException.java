@@ -0,0 +1,20 @@
+package schema;
+
+import java.util.List;
+
+// Ответ API не соответствует контракту эндпоинта
+public class SchemaViolationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> violations;
+
+    public SchemaViolationException(String endpoint, int status, List<String> violations) {
+        super("Ответ " + endpoint + " (" + status + ") не соответствует схеме: " + String.join("; ", violations));
+        this.violations = List.copyOf(violations);
+    }
+
+    public List<String> getViolations() {
+        return violations;
+    }
+}
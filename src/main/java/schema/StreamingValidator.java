@@ -0,0 +1,162 @@
+package schema;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+// Проверка документа по скомпилированной схеме за один потоковый проход JsonReader:
+// дерево JSON не строится, поля вне схемы пропускаются без разбора, путь к полю
+// собирается в одном StringBuilder и превращается в строку только для нарушения
+public final class StreamingValidator {
+
+    static final int MAX_VIOLATIONS = 20;
+
+    private StreamingValidator() {
+    }
+
+    public static List<String> validate(JsonSchema schema, byte[] json) {
+        List<String> violations = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8))) {
+            validateValue(reader, schema, new StringBuilder("$"), violations);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                violations.add("$: после документа есть лишние данные");
+            }
+        } catch (MalformedJsonException | EOFException | IllegalStateException e) {
+            violations.add("$: некорректный JSON (" + e.getMessage() + ")");
+        } catch (IOException e) {
+            violations.add("$: ошибка чтения ответа (" + e.getMessage() + ")");
+        }
+        return violations;
+    }
+
+    private static void validateValue(JsonReader reader, JsonSchema schema, StringBuilder path, List<String> violations) throws IOException {
+        if (schema.isAny() || violations.size() >= MAX_VIOLATIONS) {
+            reader.skipValue();
+            return;
+        }
+        JsonToken token = reader.peek();
+        switch (token) {
+            case BEGIN_OBJECT:
+                if (checkType(schema, JsonSchema.Type.OBJECT, path, violations)) {
+                    validateObject(reader, schema, path, violations);
+                } else {
+                    reader.skipValue();
+                }
+                return;
+            case BEGIN_ARRAY:
+                if (checkType(schema, JsonSchema.Type.ARRAY, path, violations)) {
+                    validateArray(reader, schema, path, violations);
+                } else {
+                    reader.skipValue();
+                }
+                return;
+            case STRING:
+                String string = reader.nextString();
+                if (checkType(schema, JsonSchema.Type.STRING, path, violations) && schema.getEnumLiterals() != null) {
+                    checkEnum(schema, quote(string), path, violations);
+                }
+                return;
+            case NUMBER:
+                String number = reader.nextString();
+                JsonSchema.Type numberType = isInteger(number) ? JsonSchema.Type.INTEGER : JsonSchema.Type.NUMBER;
+                if (checkType(schema, numberType, path, violations)) {
+                    checkEnum(schema, number, path, violations);
+                }
+                return;
+            case BOOLEAN:
+                boolean flag = reader.nextBoolean();
+                if (checkType(schema, JsonSchema.Type.BOOLEAN, path, violations)) {
+                    checkEnum(schema, Boolean.toString(flag), path, violations);
+                }
+                return;
+            case NULL:
+                reader.nextNull();
+                checkType(schema, JsonSchema.Type.NULL, path, violations);
+                return;
+            default:
+                throw new IllegalStateException("неожиданный токен " + token + " в " + path);
+        }
+    }
+
+    private static void validateObject(JsonReader reader, JsonSchema schema, StringBuilder path, List<String> violations) throws IOException {
+        String[] required = schema.getRequired();
+        BitSet seen = new BitSet(required.length);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            int requiredIndex = schema.requiredIndex(name);
+            if (requiredIndex >= 0) {
+                seen.set(requiredIndex);
+            }
+            JsonSchema property = schema.property(name);
+            if (property != null) {
+                int length = path.length();
+                validateValue(reader, property, path.append('.').append(name), violations);
+                path.setLength(length);
+            } else {
+                if (!schema.isAdditionalPropertiesAllowed()) {
+                    violations.add(path + "." + name + ": поле не описано в схеме");
+                }
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        for (int i = seen.nextClearBit(0); i < required.length; i = seen.nextClearBit(i + 1)) {
+            violations.add(path + "." + required[i] + ": обязательное поле отсутствует");
+        }
+    }
+
+    private static void validateArray(JsonReader reader, JsonSchema schema, StringBuilder path, List<String> violations) throws IOException {
+        JsonSchema items = schema.getItems();
+        int length = path.length();
+        reader.beginArray();
+        int index = 0;
+        while (reader.hasNext()) {
+            if (items == null) {
+                reader.skipValue();
+            } else {
+                validateValue(reader, items, path.append('[').append(index).append(']'), violations);
+                path.setLength(length);
+            }
+            index++;
+        }
+        reader.endArray();
+    }
+
+    private static boolean checkType(JsonSchema schema, JsonSchema.Type actual, StringBuilder path, List<String> violations) {
+        if (schema.allows(actual)) {
+            return true;
+        }
+        violations.add(path + ": ожидался тип " + schema.getTypes() + ", получен " + actual);
+        return false;
+    }
+
+    private static void checkEnum(JsonSchema schema, String literal, StringBuilder path, List<String> violations) {
+        if (schema.getEnumLiterals() != null && !schema.getEnumLiterals().contains(literal)) {
+            violations.add(path + ": значение " + literal + " не входит в " + schema.getEnumLiterals());
+        }
+    }
+
+    // В draft-07 integer - любое число с нулевой дробной частью, в том числе 1.0 и 1e2; NaN и Infinity - нет
+    private static boolean isInteger(String number) {
+        try {
+            return new BigDecimal(number).stripTrailingZeros().scale() <= 0;
+        } catch (NumberFormatException | ArithmeticException e) {
+            return false;
+        }
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
@@ -0,0 +1,87 @@
+import client.ApiClient;
+import io.qameta.allure.Step;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import model.UserCredentials;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import support.StellarBurgersStub;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JFR-события вызовов ApiClient")
+public class ApiCallEventTest {
+
+    private StellarBurgersStub stub;
+    private ApiClient apiClient;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        stub = new StellarBurgersStub();
+        apiClient = new ApiClient(stub.baseUrl());
+    }
+
+    @Test
+    @DisplayName("Каждый вызов пишет событие с эндпоинтом, статусом, размерами и именем теста")
+    public void apiCallEventIsRecordedTest() throws Exception {
+        List<RecordedEvent> events = recordApiCalls(Duration.ZERO);
+
+        assertEquals(2, events.size(), "Ожидалось по событию на каждый вызов");
+
+        RecordedEvent ingredients = events.get(0);
+        assertEquals("api/ingredients", ingredients.getString("endpoint"));
+        assertEquals("GET", ingredients.getString("method"));
+        assertEquals(200, ingredients.getInt("status"));
+        assertTrue(ingredients.getLong("responseBytes") > 0, "Размер ответа должен быть заполнен");
+        assertEquals("ApiCallEventTest.apiCallEventIsRecordedTest", ingredients.getString("scenario"));
+
+        RecordedEvent login = events.get(1);
+        assertEquals("api/auth/login", login.getString("endpoint"));
+        assertEquals("POST", login.getString("method"));
+        assertEquals(401, login.getInt("status"));
+        assertTrue(login.getLong("requestBytes") > 0, "Размер запроса должен быть заполнен");
+    }
+
+    @Test
+    @DisplayName("Вызовы быстрее порога не попадают в запись")
+    public void fastCallsAreFilteredByThresholdTest() throws Exception {
+        List<RecordedEvent> events = recordApiCalls(Duration.ofMinutes(1));
+
+        assertTrue(events.isEmpty(), "События ниже порога не должны записываться");
+    }
+
+    @Step("Запись JFR с порогом {threshold} во время вызовов ApiClient")
+    private List<RecordedEvent> recordApiCalls(Duration threshold) throws Exception {
+        Path file = Files.createTempFile("api-calls", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("stellarburgers.ApiCall").withThreshold(threshold);
+            recording.start();
+            apiClient.getIngredients();
+            apiClient.loginUser(new UserCredentials("nobody@yandex.ru", "12345"));
+            recording.stop();
+            recording.dump(file);
+        }
+        try {
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("stellarburgers.ApiCall"))
+                    .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        stub.close();
+    }
+}
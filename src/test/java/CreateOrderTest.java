@@ -1,6 +1,10 @@
-import client.ApiClient;
+import client.ApiResult;
+import client.TypedApiClient;
 import io.qameta.allure.Step;
-import io.restassured.response.Response;
+import model.AuthResponse;
+import model.ErrorResponse;
+import model.IngredientsResponse;
+import model.OrderResponse;
 import model.User;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,39 +12,39 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("API тесты на создание заказа")
 public class CreateOrderTest {
 
-    private ApiClient apiClient;
+    private TypedApiClient apiClient;
     private User user;
     private String accessToken;
     private List<String> validIngredientsId;
 
     @BeforeEach
     public void setUp() {
-        apiClient = new ApiClient();
+        apiClient = new TypedApiClient();
 
-        Response ingredientsResponse = apiClient.getIngredients();
-        assertEquals(200, ingredientsResponse.statusCode(), "Не удалось получить список ингредиентов");
+        ApiResult<IngredientsResponse> ingredientsResult = apiClient.getIngredients();
+        assertEquals(200, ingredientsResult.statusCode(), "Не удалось получить список ингредиентов");
 
-        validIngredientsId = ingredientsResponse.body().jsonPath().getList("data._id");
+        validIngredientsId = ingredientsResult.body().ingredientIds();
         assertFalse(validIngredientsId.isEmpty(), "Список ингредиентов не должен быть пустым");
 
 
         String timestamp = String.valueOf(System.currentTimeMillis());
         user = new User("romatest-" + timestamp + "@yandex.ru", "12345", "Roms");
 
-        Response createResponse = apiClient.createUser(user);
-        assertEquals(200, createResponse.statusCode(), "Не удалось создать тестового пользователя");
+        ApiResult<AuthResponse> createResult = apiClient.createUser(user);
+        assertEquals(200, createResult.statusCode(), "Не удалось создать тестового пользователя");
 
-        accessToken = createResponse.body().jsonPath().getString("accessToken");
+        accessToken = createResult.body().getAccessToken();
         assertNotNull(accessToken, "Access token не должен быть null");
     }
 
@@ -54,26 +58,30 @@ public class CreateOrderTest {
                 validIngredientsId.get(1)
         );
 
-        Response response = createOrderWithRequestBody(accessToken, requestBody);
-        validateSuccessfulOrderResponse(response);
+        ApiResult<OrderResponse> result = createOrderWithRequestBody(accessToken, requestBody);
+        validateSuccessfulOrderResponse(result);
     }
 
 
     @Step("Создание заказа с access token = '{accessToken}' и телом запроса: {requestBody}")
-    private Response createOrderWithRequestBody(String accessToken, String requestBody) {
+    private ApiResult<OrderResponse> createOrderWithRequestBody(String accessToken, String requestBody) {
         return apiClient.createOrder(accessToken, requestBody);
     }
 
     @Step("Проверка успешного ответа при создании заказа")
-    private void validateSuccessfulOrderResponse(Response response) {
+    private void validateSuccessfulOrderResponse(ApiResult<OrderResponse> result) {
         assertThat("Статус код должен быть 200",
-                response.statusCode(), equalTo(200));
+                result.statusCode(), equalTo(200));
+        OrderResponse order = result.body();
         assertThat("Ответ должен содержать success: true",
-                response.path("success"), equalTo(true));
+                order.isSuccess(), equalTo(true));
         assertThat("Ответ должен содержать name",
-                response.path("name"), notNullValue());
-        assertThat("Ответ должен содержать order.number",
-                response.path("order.number"), notNullValue());
+                order.getName(), notNullValue());
+        assertThat("Ответ должен содержать order",
+                order.getOrder(), notNullValue());
+        // number - примитив: отсутствующее поле разбирается в 0, поэтому проверяется значение, а не null
+        assertThat("Ответ должен содержать положительный order.number",
+                order.getOrder().getNumber(), greaterThan(0L));
     }
 
     @Test
@@ -81,15 +89,15 @@ public class CreateOrderTest {
     public void createOrderWithAuthAndInvalidIngredientHash() {
         String requestBody = "{\"ingredients\": [\"invalid_hash_XXX\", \"609646e4dc916e00276b2870\"]}";
 
-        Response response = createOrderWithRequestBody(accessToken, requestBody);
+        ApiResult<OrderResponse> result = createOrderWithRequestBody(accessToken, requestBody);
 
-        validateResponseWithInvalidIngredientHash(response);
+        validateResponseWithInvalidIngredientHash(result);
     }
 
     @Step("Проверка ответа при невалидном хеше ингредиентов")
-    private void validateResponseWithInvalidIngredientHash(Response response) {
+    private void validateResponseWithInvalidIngredientHash(ApiResult<OrderResponse> result) {
         assertThat("При невалидном хеше должен быть статус 500",
-                response.statusCode(), equalTo(500));
+                result.statusCode(), equalTo(500));
     }
 
     @Test
@@ -97,19 +105,20 @@ public class CreateOrderTest {
     public void createOrderWithAuthAndNoIngredients() {
         String requestBody = "{\"ingredients\": []}";
 
-        Response response = createOrderWithRequestBody(accessToken, requestBody);
+        ApiResult<OrderResponse> result = createOrderWithRequestBody(accessToken, requestBody);
 
-        validateResponseWithNoIngredients(response);
+        validateResponseWithNoIngredients(result);
     }
 
     @Step("Проверка ответа при отсутствии ингредиентов")
-    private void validateResponseWithNoIngredients(Response response) {
+    private void validateResponseWithNoIngredients(ApiResult<OrderResponse> result) {
         assertThat("При отсутствии ингредиентов должен быть статус 400",
-                response.statusCode(), equalTo(400));
+                result.statusCode(), equalTo(400));
+        ErrorResponse error = result.error();
         assertThat("Должно быть сообщение об ошибке",
-                response.path("message"), equalTo("Ingredient ids must be provided"));
+                error.getMessage(), equalTo("Ingredient ids must be provided"));
         assertThat("Должен быть success: false",
-                response.path("success"), equalTo(false));
+                error.isSuccess(), equalTo(false));
     }
 
     @Test
@@ -117,9 +126,9 @@ public class CreateOrderTest {
     public void createOrderWithoutAuthAndValidIngredients() {
         String requestBody = "{\"ingredients\": [\"61c0c5a71d1f82001bdaaa6d\", \"61c0c5a71d1f82001bdaaa6f\"]}";
 
-        Response response = createOrderWithRequestBody("", requestBody);
+        ApiResult<OrderResponse> result = createOrderWithRequestBody("", requestBody);
 
-        validateSuccessfulOrderResponse(response);
+        validateSuccessfulOrderResponse(result);
     }
 
     @Test
@@ -127,9 +136,9 @@ public class CreateOrderTest {
     public void createOrderWithoutAuthAndInvalidIngredientHash() {
         String requestBody = "{\"ingredients\": [\"invalid_hash_XXX\", \"609646e4dc916e00276b2870\"]}";
 
-        Response response = createOrderWithRequestBody("", requestBody);
+        ApiResult<OrderResponse> result = createOrderWithRequestBody("", requestBody);
 
-        validateResponseWithInvalidIngredientHash(response);
+        validateResponseWithInvalidIngredientHash(result);
     }
 
     @Test
@@ -137,9 +146,9 @@ public class CreateOrderTest {
     public void createOrderWithoutAuthAndNoIngredients() {
         String requestBody = "{\"ingredients\": []}";
 
-        Response response = createOrderWithRequestBody("", requestBody);
+        ApiResult<OrderResponse> result = createOrderWithRequestBody("", requestBody);
 
-        validateResponseWithNoIngredients(response);
+        validateResponseWithNoIngredients(result);
     }
 
     @Test
@@ -147,9 +156,9 @@ public class CreateOrderTest {
     public void createOrderWithEmptyRequestBody() {
         String requestBody = "{}";
 
-        Response response = createOrderWithRequestBody(accessToken, requestBody);
+        ApiResult<OrderResponse> result = createOrderWithRequestBody(accessToken, requestBody);
 
-        validateResponseWithNoIngredients(response);
+        validateResponseWithNoIngredients(result);
     }
 
     @AfterEach
@@ -0,0 +1,141 @@
+import faults.FaultProxy;
+import faults.LatencyDistribution;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Step;
+import load.DistributedLoadReport;
+import load.LoadCoordinator;
+import load.LoadWorker;
+import load.ScenarioResult;
+import load.Scenarios;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import support.StellarBurgersStub;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Распределённая нагрузка: координатор и воркеры на localhost")
+public class DistributedLoadTest {
+
+    private static final int WORKERS = 3;
+    private static final double RATE_PER_SECOND = 60;
+    private static final Duration DURATION = Duration.ofSeconds(2);
+    // LoadWorker.MAGIC, с него воркер начинает приветствие
+    private static final int WORKER_MAGIC = 0x53424C44;
+
+    private StellarBurgersStub stub;
+    private ExecutorService workerThreads;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        stub = new StellarBurgersStub();
+        workerThreads = Executors.newFixedThreadPool(WORKERS);
+    }
+
+    @Test
+    @DisplayName("Гистограммы воркеров сливаются в один отчёт по всем сценариям")
+    public void workerHistogramsAreMergedTest() throws Exception {
+        List<String> scenarios = List.of(Scenarios.USER_FLOW, Scenarios.INGREDIENTS, Scenarios.FAILED_LOGIN);
+        List<Future<List<ScenarioResult>>> workerResults = new ArrayList<>();
+
+        DistributedLoadReport report;
+        try (LoadCoordinator coordinator = new LoadCoordinator(0, WORKERS, scenarios, RATE_PER_SECOND, DURATION, stub.baseUrl())) {
+            coordinator.setAcceptTimeout(Duration.ofSeconds(30));
+            for (int i = 0; i < WORKERS; i++) {
+                LoadWorker worker = new LoadWorker("localhost", coordinator.getPort(), "worker-" + i, 4);
+                workerResults.add(workerThreads.submit(worker::run));
+            }
+            report = runCoordinator(coordinator);
+        }
+        Allure.addAttachment("Отчёт распределённой нагрузки", "text/plain", report.toText());
+
+        assertEquals(WORKERS, report.getWorkers().size(), "Все воркеры должны попасть в отчёт");
+        assertEquals(scenarios.size(), report.getScenarios().size(), "Каждый сценарий должен достаться какому-то воркеру");
+
+        long workerIterations = 0;
+        for (Future<List<ScenarioResult>> result : workerResults) {
+            for (ScenarioResult scenario : result.get()) {
+                workerIterations += scenario.getIterations();
+            }
+        }
+        ScenarioResult total = report.total();
+        assertEquals(workerIterations, total.getIterations(), "Слитый отчёт должен содержать все итерации воркеров");
+        assertEquals(total.getIterations(), total.getLatency().getTotalCount(), "Каждая итерация должна попасть в гистограмму");
+        assertEquals(0, total.getFailures(), "Сценарии на заглушке не должны падать");
+
+        long expected = (long) (RATE_PER_SECOND * DURATION.toSeconds());
+        assertEquals(expected, total.getIterations() + total.getMissed(), expected * 0.1, "Частота прихода должна делиться между воркерами");
+    }
+
+    @Test
+    @DisplayName("Воркер, замолчавший до подтверждения готовности, не подвешивает координатор")
+    public void stalledWorkerFailsHandshakeTest() throws Exception {
+        try (LoadCoordinator coordinator = new LoadCoordinator(0, 1, List.of(Scenarios.INGREDIENTS), RATE_PER_SECOND, DURATION, stub.baseUrl());
+             Socket stalled = new Socket()) {
+            coordinator.setAcceptTimeout(Duration.ofSeconds(30));
+            coordinator.setHandshakeTimeout(Duration.ofMillis(500));
+            stalled.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), coordinator.getPort()));
+            // Приветствие как у LoadWorker, после него - тишина вместо READY
+            DataOutputStream out = new DataOutputStream(stalled.getOutputStream());
+            out.writeInt(WORKER_MAGIC);
+            out.writeUTF("stalled-worker");
+            out.writeInt(1);
+            out.flush();
+
+            Future<DistributedLoadReport> run = workerThreads.submit(coordinator::run);
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> run.get(10, TimeUnit.SECONDS),
+                    "Координатор должен завершиться ошибкой, а не ждать вечно");
+            assertInstanceOf(IOException.class, failure.getCause());
+            assertTrue(failure.getCause().getMessage().contains("stalled-worker"),
+                    "Ошибка должна называть замолчавшего воркера: " + failure.getCause().getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Запуски, не завершившиеся к концу ожидания, попадают в отчёт ошибками, а воркер не зависает")
+    public void hungRunsAreReportedAsFailuresTest() throws Exception {
+        try (FaultProxy proxy = new FaultProxy(stub.baseUrl(), 1);
+             LoadCoordinator coordinator = new LoadCoordinator(0, 1, List.of(Scenarios.INGREDIENTS), 10, Duration.ofSeconds(1), proxy.baseUrl())) {
+            proxy.route("*").latency(LatencyDistribution.fixed(Duration.ofSeconds(5)));
+            coordinator.setAcceptTimeout(Duration.ofSeconds(30));
+            LoadWorker worker = new LoadWorker("localhost", coordinator.getPort(), "hung-worker", 2);
+            worker.setDrainTimeout(Duration.ofMillis(300));
+            Future<List<ScenarioResult>> workerResult = workerThreads.submit(worker::run);
+
+            ScenarioResult total = runCoordinator(coordinator).total();
+
+            assertEquals(2, total.getFailures(), "Оба зависших запуска должны считаться ошибками: " + total.getFailures());
+            assertEquals(total.getFailures(), total.getIterations(), "Ни один запуск через медленный прокси не успел завершиться");
+            assertEquals(0, total.getLatency().getTotalCount(), "Поздние ответы не должны попадать в гистограмму");
+            assertTrue(total.getMissed() > 0, "Пока оба потока заняты, новые запуски должны пропускаться");
+            assertEquals(total.getIterations(), workerResult.get(5, TimeUnit.SECONDS).get(0).getIterations(),
+                    "Воркер должен вернуть тот же итог, что получил координатор");
+        }
+    }
+
+    @Step("Запуск координатора")
+    private DistributedLoadReport runCoordinator(LoadCoordinator coordinator) throws Exception {
+        return coordinator.run();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        workerThreads.shutdownNow();
+        stub.close();
+    }
+}
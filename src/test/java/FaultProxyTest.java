@@ -0,0 +1,121 @@
+import client.ApiClient;
+import faults.FaultProxy;
+import faults.LatencyDistribution;
+import faults.RouteFaults;
+import io.qameta.allure.Step;
+import io.restassured.response.Response;
+import metrics.EndpointMetrics;
+import metrics.MetricsRegistry;
+import model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import support.StellarBurgersStub;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Прокси с внесением неисправностей")
+public class FaultProxyTest {
+
+    private static final String ORDER_BODY = String.format("{\"ingredients\": [\"%s\", \"%s\"]}",
+            StellarBurgersStub.BUN_ID, StellarBurgersStub.MAIN_ID);
+
+    private StellarBurgersStub stub;
+    private FaultProxy proxy;
+    private MetricsRegistry registry;
+    private ApiClient apiClient;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        stub = new StellarBurgersStub();
+        proxy = new FaultProxy(stub.baseUrl(), 42);
+        registry = new MetricsRegistry();
+        apiClient = new ApiClient(proxy.baseUrl(), registry);
+    }
+
+    @Test
+    @DisplayName("Задержка и ошибки применяются только к своему маршруту")
+    public void latencyAndErrorsPerRouteTest() {
+        proxy.route("api/orders").latency(LatencyDistribution.fixed(Duration.ofMillis(200))).jitter(Duration.ofMillis(20));
+        proxy.route("api/auth/*").errorRate(503, 1.0);
+
+        assertEquals(503, apiClient.createUser(new User("proxy@yandex.ru", "12345", "Roms")).statusCode(),
+                "Маршрут api/auth/* должен отвечать внесённой ошибкой");
+        assertEquals(200, apiClient.getIngredients().statusCode(), "Маршрут без неисправностей должен работать как есть");
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, apiClient.createOrder("", ORDER_BODY).statusCode(), "Задержка не должна ломать заказ");
+        }
+
+        EndpointMetrics orders = registry.endpoint("POST", "api/orders");
+        assertTrue(orders.latencySnapshot().percentileMicros(0) >= 170_000,
+                "Задержка маршрута должна быть видна в метриках ApiClient");
+        assertTrue(registry.endpoint("GET", "api/ingredients").latencySnapshot().percentileMicros(100) < 170_000,
+                "Задержка не должна протекать на другие маршруты");
+        assertEquals(1, registry.endpoint("POST", "api/auth/register").getErrors(503), "Ошибка 503 должна попасть в метрики");
+        assertEquals(6, stub.requestCount(), "Внесённая ошибка не должна доходить до целевого сервиса");
+    }
+
+    @Test
+    @DisplayName("Доля ответов 429 соответствует настройке, после очистки маршрут снова здоров")
+    public void errorRateTest() {
+        RouteFaults orders = proxy.route("api/orders").errorRate(429, 0.3);
+        int total = 200;
+        int throttled = 0;
+        for (int i = 0; i < total; i++) {
+            if (apiClient.createOrder("", ORDER_BODY).statusCode() == 429) {
+                throttled++;
+            }
+        }
+        assertEquals(total, orders.getRequests(), "Все запросы должны пройти через маршрут");
+        assertEquals(throttled, orders.getInjectedErrors(), "Счётчик маршрута должен совпадать с ответами 429");
+        assertTrue(throttled > total * 0.2 && throttled < total * 0.4, "Доля 429 вне допуска: " + throttled);
+        assertEquals(0, registry.endpoint("POST", "api/orders").getSchemaViolations(), "Ответ 429 должен соответствовать схеме ошибки");
+
+        proxy.clearFaults();
+        assertEquals(200, apiClient.createOrder("", ORDER_BODY).statusCode(), "После очистки неисправностей заказ должен создаваться");
+    }
+
+    @Test
+    @DisplayName("Сброс соединения поднимается из ApiClient и учитывается как статус 0")
+    public void connectionResetTest() {
+        RouteFaults ingredients = proxy.route("api/ingredients").resetRate(1.0);
+
+        assertThrows(Exception.class, () -> apiClient.getIngredients(), "Сброс соединения должен приводить к исключению");
+
+        // Сколько раз клиент повторит GET после сброса, решает HTTP-клиент под RestAssured, а не прокси
+        assertTrue(ingredients.getResets() >= 1, "Прокси должен сбросить хотя бы одно соединение");
+        assertEquals(ingredients.getRequests(), ingredients.getResets(), "Каждая попытка запроса должна быть сброшена");
+        assertEquals(1, registry.endpoint("GET", "api/ingredients").getErrors(0), "Запрос без ответа учитывается со статусом 0");
+        assertEquals(0, stub.requestCount(), "Сброшенный запрос не должен доходить до целевого сервиса");
+    }
+
+    @Test
+    @DisplayName("Ограничение скорости растягивает отдачу тела ответа")
+    public void bandwidthCapTest() {
+        proxy.route("api/ingredients").bandwidth(1000);
+
+        long startNanos = System.nanoTime();
+        Response response = apiClient.getIngredients();
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        assertEquals(200, response.statusCode(), "Ответ должен прийти целиком");
+        long expectedMillis = response.asByteArray().length; // при 1000 байт/с миллисекунд столько же, сколько байт
+        assertTrue(elapsedMillis >= expectedMillis * 0.8, "Тело " + response.asByteArray().length
+                + " байт при 1000 байт/с пришло за " + elapsedMillis + " мс");
+        verifyBodyIntact(response);
+    }
+
+    @Step("Проверка целостности тела после ограничения скорости")
+    private void verifyBodyIntact(Response response) {
+        assertEquals(StellarBurgersStub.BUN_ID, response.path("data[0]._id"), "Тело ответа должно прийти без искажений");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        proxy.close();
+        stub.close();
+    }
+}
@@ -1,12 +1,16 @@
-import client.ApiClient;
+import client.ApiResult;
+import client.TypedApiClient;
 import io.qameta.allure.Step;
-import io.restassured.response.Response;
+import model.AuthResponse;
+import model.ErrorResponse;
+import model.OrdersResponse;
 import model.User;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -14,20 +18,20 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 @DisplayName("API тесты на получение заказов конкретного пользователя")
 public class GetUserOrdersTest {
 
-    private ApiClient apiClient;
+    private TypedApiClient apiClient;
     private User user;
     private String accessToken;
 
     @BeforeEach
     public void setUp() {
-        apiClient = new ApiClient();
+        apiClient = new TypedApiClient();
         String timestamp = String.valueOf(System.currentTimeMillis());
         user = new User("romatest-" + timestamp + "@yandex.ru", "12345", "Roms");
 
-        Response createResponse = apiClient.createUser(user);
-        assertEquals(200, createResponse.statusCode(), "Не удалось создать тестового пользователя");
+        ApiResult<AuthResponse> createResult = apiClient.createUser(user);
+        assertEquals(200, createResult.statusCode(), "Не удалось создать тестового пользователя");
 
-        accessToken = createResponse.body().jsonPath().getString("accessToken");
+        accessToken = createResult.body().getAccessToken();
         assertNotNull(accessToken, "Access token не должен быть null");
     }
 
@@ -36,50 +40,46 @@ public class GetUserOrdersTest {
     public void testGetUserOrdersWithAuth() {
         createTestOrder();
 
-        Response response = getUserOrdersWithAuth();
+        ApiResult<OrdersResponse> result = getUserOrdersWithAuth();
 
-        validateSuccessOrdersResponse(response);
+        validateSuccessOrdersResponse(result);
     }
 
     @Step("Создание тестового заказа")
     private void createTestOrder() {
         String orderBody = "{\"ingredients\": [\"61c0c5a71d1f82001bdaaa6d\", \"61c0c5a71d1f82001bdaaa6f\"]}";
-        Response createOrderResponse = apiClient.createOrder(accessToken, orderBody);
-        createOrderResponse.then().assertThat().statusCode(200);
+        assertEquals(200, apiClient.createOrder(accessToken, orderBody).statusCode(), "Не удалось создать тестовый заказ");
     }
 
     @Step("Получение заказов пользователя")
-    private Response getUserOrdersWithAuth() {
+    private ApiResult<OrdersResponse> getUserOrdersWithAuth() {
         return apiClient.getUserOrders(accessToken);
     }
 
     @Step("Проверка успешного ответа на запрос заказов")
-    private void validateSuccessOrdersResponse(Response response) {
-        response.then()
-                .assertThat()
-                .statusCode(200)
-                .body("success", equalTo(true))
-                .body("orders", notNullValue())
-                .body("orders", hasSize(lessThanOrEqualTo(50))) // максимум 50 заказов
-                .body("total", greaterThanOrEqualTo(0))
-                .body("totalToday", greaterThanOrEqualTo(0));
+    private void validateSuccessOrdersResponse(ApiResult<OrdersResponse> result) {
+        assertEquals(200, result.statusCode(), "Заказы пользователя должны успешно возвращаться");
+        OrdersResponse orders = result.body();
+        assertThat(orders.isSuccess(), equalTo(true));
+        assertThat(orders.getOrders(), hasSize(lessThanOrEqualTo(50))); // максимум 50 заказов
+        assertThat(orders.getTotal(), greaterThanOrEqualTo(0L));
+        assertThat(orders.getTotalToday(), greaterThanOrEqualTo(0L));
     }
 
     @Test
     @DisplayName("Получение заказов неавторизованного пользователя")
     public void testGetUserOrdersWithoutAuth() {
-        Response response = apiClient.getUserOrders("");
+        ApiResult<OrdersResponse> result = apiClient.getUserOrders("");
 
-        validateNoAuthResponse(response);
+        validateNoAuthResponse(result);
     }
 
     @Step("Проверка ответа на неавторизованный запрос")
-    private void validateNoAuthResponse(Response response) {
-        response.then()
-                .assertThat()
-                .statusCode(401)
-                .body("success", equalTo(false))
-                .body("message", equalTo("You should be authorised"));
+    private void validateNoAuthResponse(ApiResult<OrdersResponse> result) {
+        assertEquals(401, result.statusCode(), "Неавторизованный запрос должен отклоняться");
+        ErrorResponse error = result.error();
+        assertThat(error.isSuccess(), equalTo(false));
+        assertThat(error.getMessage(), equalTo("You should be authorised"));
     }
 
     @AfterEach
@@ -0,0 +1,195 @@
+import client.ApiClient;
+import faults.FaultProxy;
+import faults.LatencyDistribution;
+import faults.RouteFaults;
+import io.qameta.allure.Step;
+import metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import routing.BalancingPolicy;
+import routing.EndpointPool;
+import routing.EndpointStats;
+import support.StellarBurgersStub;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Балансировка ApiClient между несколькими стендами")
+public class LoadBalancingTest {
+
+    private static final Duration SLOW = Duration.ofMillis(150);
+
+    private final List<StellarBurgersStub> stubs = new ArrayList<>();
+    private final List<FaultProxy> proxies = new ArrayList<>();
+
+    @Test
+    @DisplayName("Round-robin делит запросы между заглушками поровну")
+    public void roundRobinSpreadsEvenlyTest() throws Exception {
+        List<String> baseUrls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            StellarBurgersStub stub = new StellarBurgersStub();
+            stubs.add(stub);
+            baseUrls.add(stub.baseUrl());
+        }
+        ApiClient apiClient = new ApiClient(new EndpointPool(baseUrls, BalancingPolicy.roundRobin()), new MetricsRegistry());
+
+        for (int i = 0; i < 30; i++) {
+            assertEquals(200, apiClient.getIngredients().statusCode(), "Каждая заглушка должна отдавать ингредиенты");
+        }
+
+        for (int i = 0; i < stubs.size(); i++) {
+            assertEquals(10, stubs.get(i).requestCount(), "Заглушка " + i + " должна получить треть запросов");
+            assertEquals(10, apiClient.getEndpoints().stats().get(i).getRequests(), "Статистика стенда " + i + " не совпадает с заглушкой");
+        }
+    }
+
+    @Test
+    @DisplayName("EWMA с выбором из двух обходит медленную реплику")
+    public void ewmaAvoidsSlowReplicaTest() throws Exception {
+        List<String> replicas = replicasOfOneStub(3);
+        warmUp(replicas);
+        proxies.get(0).route("*").latency(LatencyDistribution.fixed(SLOW));
+        // Затухание проверяется отдельно, здесь оно не должно возвращать медленной реплике трафик
+        EndpointPool pool = new EndpointPool(replicas, BalancingPolicy.ewmaPowerOfTwo()).ewmaDecay(Duration.ofMinutes(1));
+        ApiClient apiClient = new ApiClient(pool, new MetricsRegistry());
+
+        assertEquals(0, sendIngredients(apiClient, 60), "Запросы через реплики должны проходить");
+
+        List<EndpointStats> stats = apiClient.getEndpoints().stats();
+        assertTrue(stats.get(0).getRequests() <= 3, "Медленная реплика должна получать только пробные запросы: " + stats);
+        for (int i = 1; i < stats.size(); i++) {
+            assertTrue(stats.get(i).getEwmaMillis() < SLOW.toMillis() / 2.0, "EWMA быстрой реплики не должна расти: " + stats);
+            assertTrue(stats.get(0).getEwmaMillis() > stats.get(i).getEwmaMillis(), "EWMA медленной реплики должна быть выше: " + stats);
+        }
+    }
+
+    @Test
+    @DisplayName("EWMA затухает без замеров, и ускорившаяся реплика снова получает запросы")
+    public void ewmaDecaysForIdleReplicaTest() throws Exception {
+        List<String> replicas = replicasOfOneStub(3);
+        warmUp(replicas);
+        RouteFaults slow = proxies.get(0).route("*").latency(LatencyDistribution.fixed(SLOW));
+        EndpointPool pool = new EndpointPool(replicas, BalancingPolicy.ewmaPowerOfTwo()).ewmaDecay(Duration.ofMillis(100));
+        ApiClient apiClient = new ApiClient(pool, new MetricsRegistry());
+
+        assertEquals(0, sendIngredients(apiClient, 20), "Запросы через реплики должны проходить");
+        long slowRequests = slow.getRequests();
+        assertTrue(slowRequests >= 1, "Медленная реплика должна получить пробный запрос: " + pool.stats());
+
+        proxies.get(0).clearFaults();
+        // За 5 постоянных времени от оценок остаётся меньше процента, медленный замер больше не отпугивает
+        Thread.sleep(500);
+        assertEquals(0, sendIngredients(apiClient, 30), "Запросы через реплики должны проходить");
+
+        EndpointStats recovered = pool.stats().get(0);
+        assertTrue(slow.getRequests() > slowRequests, "После затухания реплика должна снова получать запросы: " + pool.stats());
+        assertTrue(recovered.getEwmaMillis() < SLOW.toMillis() / 2.0, "Новые замеры должны заменить старую оценку: " + recovered);
+    }
+
+    @Test
+    @DisplayName("Least-outstanding под параллельной нагрузкой разгружает медленную реплику")
+    public void leastOutstandingUnderConcurrencyTest() throws Exception {
+        List<String> replicas = replicasOfOneStub(3);
+        proxies.get(0).route("*").latency(LatencyDistribution.fixed(SLOW));
+        ApiClient apiClient = new ApiClient(new EndpointPool(replicas, BalancingPolicy.leastOutstanding()), new MetricsRegistry());
+
+        int total = runConcurrently(apiClient, 6, 60);
+
+        List<EndpointStats> stats = apiClient.getEndpoints().stats();
+        assertEquals(60, total, "Все запросы должны завершиться успешно");
+        assertTrue(stats.get(0).getRequests() < 60 / 3, "Медленная реплика должна получить меньше равной доли: " + stats);
+        for (EndpointStats endpoint : stats) {
+            assertEquals(0, endpoint.getOutstanding(), "После нагрузки в полёте ничего не должно остаться: " + endpoint);
+        }
+    }
+
+    @Test
+    @DisplayName("Реплика с ошибками 5xx исключается и возвращается после паузы")
+    public void failingReplicaIsEjectedTest() throws Exception {
+        List<String> replicas = replicasOfOneStub(3);
+        RouteFaults broken = proxies.get(1).route("*").errorRate(503, 1.0);
+        EndpointPool pool = new EndpointPool(replicas, BalancingPolicy.roundRobin()).ejection(3, Duration.ofSeconds(2));
+        ApiClient apiClient = new ApiClient(pool, new MetricsRegistry());
+
+        int failed = sendIngredients(apiClient, 30);
+
+        EndpointStats brokenStats = pool.stats().get(1);
+        assertEquals(3, failed, "До исключения реплика должна ответить ошибкой ровно failuresToEject раз");
+        assertEquals(3, broken.getRequests(), "После исключения запросы не должны доходить до реплики");
+        assertEquals(1, brokenStats.getEjections(), "Исключение должно попасть в статистику: " + brokenStats);
+        assertTrue(brokenStats.isEjected(), "Реплика должна числиться исключённой: " + brokenStats);
+
+        proxies.get(1).clearFaults();
+        Thread.sleep(2100);
+        assertEquals(0, sendIngredients(apiClient, 9), "Восстановившаяся реплика не должна давать ошибок");
+        assertTrue(broken.getRequests() > 3, "После паузы реплика должна вернуться в балансировку");
+        assertFalse(pool.stats().get(1).isEjected(), "После паузы реплика не должна числиться исключённой");
+    }
+
+    @Step("Запуск {replicas} прокси-реплик перед одной заглушкой")
+    private List<String> replicasOfOneStub(int replicas) throws Exception {
+        StellarBurgersStub stub = new StellarBurgersStub();
+        stubs.add(stub);
+        List<String> baseUrls = new ArrayList<>();
+        for (int i = 0; i < replicas; i++) {
+            FaultProxy proxy = new FaultProxy(stub.baseUrl(), i);
+            proxies.add(proxy);
+            baseUrls.add(proxy.baseUrl());
+        }
+        return baseUrls;
+    }
+
+    // Первые вызовы в JVM (загрузка классов RestAssured, JIT, потоки прокси) идут в разы дольше обычных;
+    // без прогрева они попали бы в EWMA реплик и исказили выбор
+    @Step("Прогрев клиента на репликах {replicas}")
+    private void warmUp(List<String> replicas) {
+        ApiClient apiClient = new ApiClient(new EndpointPool(replicas, BalancingPolicy.roundRobin()), new MetricsRegistry());
+        assertEquals(0, sendIngredients(apiClient, 10 * replicas.size()), "Реплики должны отвечать на прогрев");
+    }
+
+    // Число ответов 5xx
+    @Step("Отправка {count} запросов ингредиентов")
+    private int sendIngredients(ApiClient apiClient, int count) {
+        int failed = 0;
+        for (int i = 0; i < count; i++) {
+            if (apiClient.getIngredients().statusCode() >= 500) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    // Число успешных ответов
+    @Step("Параллельная отправка {count} запросов в {threads} потоков")
+    private int runConcurrently(ApiClient apiClient, int threads, int count) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                statuses.add(executor.submit(() -> apiClient.getIngredients().statusCode()));
+            }
+            int succeeded = 0;
+            for (Future<Integer> status : statuses) {
+                if (status.get() == 200) {
+                    succeeded++;
+                }
+            }
+            return succeeded;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        proxies.forEach(FaultProxy::close);
+        stubs.forEach(StellarBurgersStub::close);
+    }
+}
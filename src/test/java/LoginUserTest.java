@@ -1,6 +1,8 @@
-import client.ApiClient;
+import client.ApiResult;
+import client.TypedApiClient;
 import io.qameta.allure.Step;
-import io.restassured.response.Response;
+import model.AuthResponse;
+import model.ErrorResponse;
 import model.User;
 import model.UserCredentials;
 import org.junit.jupiter.api.AfterEach;
@@ -8,49 +10,47 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import static org.hamcrest.Matchers.equalTo;
-import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("API тесты для авторизации пользователя")
 public class LoginUserTest {
-    private ApiClient apiClient;
+    private TypedApiClient apiClient;
     private User testUser;
     private String testEmail;
     private String accessToken;
 
     @BeforeEach
     public void setUp() {
-        apiClient = new ApiClient();
+        apiClient = new TypedApiClient();
         String timestamp = String.valueOf(System.currentTimeMillis());
         testEmail = "romatest-" + timestamp + "@yandex.ru"; // Уникальный email для каждого запуска
         testUser = new User(testEmail, "12345", "Roms");
-        Response response = apiClient.createUser(testUser);
-        assertEquals(200, response.statusCode(), "Не удалось создать тестового пользователя");
+        ApiResult<AuthResponse> result = apiClient.createUser(testUser);
+        assertEquals(200, result.statusCode(), "Не удалось создать тестового пользователя");
     }
 
     @Test
     @DisplayName("Успешная авторизация пользователя с обязательными полями")
     public void userAuthSuccessTest() {
         UserCredentials userCreds = new UserCredentials(testEmail, "12345");
-        Response loginResponse = apiClient.loginUser(userCreds);
-        verifySuccessResponse(loginResponse);
-        saveAccessToken(loginResponse);
+        ApiResult<AuthResponse> loginResult = apiClient.loginUser(userCreds);
+        verifySuccessResponse(loginResult);
+        saveAccessToken(loginResult.body());
     }
 
     @Step("Проверка успешного ответа")
-    private void verifySuccessResponse(Response response) {
-        assertEquals(200, response.statusCode(), "Пользователь должен успешно авторизоваться");
-        response.then()
-                .body("success", equalTo(true))
-                .body("accessToken", notNullValue())
-                .body("refreshToken", notNullValue())
-                .body("user.email", equalTo(testEmail));
+    private void verifySuccessResponse(ApiResult<AuthResponse> result) {
+        assertEquals(200, result.statusCode(), "Пользователь должен успешно авторизоваться");
+        AuthResponse auth = result.body();
+        assertTrue(auth.isSuccess(), "Ответ должен содержать success: true");
+        assertNotNull(auth.getAccessToken(), "Ответ должен содержать accessToken");
+        assertNotNull(auth.getRefreshToken(), "Ответ должен содержать refreshToken");
+        assertEquals(testEmail, auth.getUser().getEmail(), "Email в ответе должен совпадать с email пользователя");
     }
 
     @Step("Сохранение access token")
-    private void saveAccessToken(Response response) {
-        accessToken = response.body().jsonPath().getString("accessToken");
+    private void saveAccessToken(AuthResponse auth) {
+        accessToken = auth.getAccessToken();
         assertNotNull(accessToken, "Access token должен быть возвращен");
         assertTrue(accessToken.startsWith("Bearer "), "Access token должен начинаться с 'Bearer '");
     }
@@ -95,13 +95,13 @@ public class LoginUserTest {
     @Step("Тестирование неуспешной авторизации")
     private void testAuthFail(String email, String password, int expectedStatus, String expectedMessage) {
         UserCredentials credentials = new UserCredentials(email, password);
-        Response response = apiClient.loginUser(credentials);
+        ApiResult<AuthResponse> result = apiClient.loginUser(credentials);
 
-        assertEquals(expectedStatus, response.statusCode(),
+        assertEquals(expectedStatus, result.statusCode(),
                 "Неверный статус код при неуспешной авторизации");
-        response.then()
-                .body("success", equalTo(false))
-                .body("message", equalTo(expectedMessage));
+        ErrorResponse error = result.error();
+        assertFalse(error.isSuccess(), "Ответ должен содержать success: false");
+        assertEquals(expectedMessage, error.getMessage(), "Неверное сообщение об ошибке");
     }
 
     @AfterEach
@@ -0,0 +1,109 @@
+import client.ApiClient;
+import io.qameta.allure.Step;
+import metrics.EndpointMetrics;
+import metrics.HistogramSnapshot;
+import metrics.LatencyHistogram;
+import metrics.MetricsRegistry;
+import metrics.PrometheusTextExporter;
+import model.UserCredentials;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import support.StellarBurgersStub;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Клиентские метрики ApiClient и выгрузка в textfile Prometheus")
+public class MetricsRegistryTest {
+
+    private StellarBurgersStub stub;
+    private MetricsRegistry registry;
+    private ApiClient apiClient;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        stub = new StellarBurgersStub();
+        registry = new MetricsRegistry();
+        apiClient = new ApiClient(stub.baseUrl(), registry);
+    }
+
+    @Test
+    @DisplayName("Вызовы считаются по эндпоинтам, ошибки - по статусам")
+    public void requestsAndErrorsAreCountedTest() {
+        apiClient.getIngredients();
+        apiClient.getIngredients();
+        apiClient.loginUser(new UserCredentials("nobody@yandex.ru", "12345"));
+
+        EndpointMetrics ingredients = registry.endpoint("GET", "api/ingredients");
+        assertEquals(2, ingredients.getRequests(), "Неверное число запросов ингредиентов");
+        assertEquals(0, ingredients.getInFlight(), "После ответа запрос не должен считаться активным");
+        assertEquals(2, ingredients.latencySnapshot().getTotalCount(), "Каждый запрос должен попасть в гистограмму");
+
+        EndpointMetrics login = registry.endpoint("POST", "api/auth/login");
+        assertEquals(1, login.getErrors(401), "Ошибка логина должна считаться по статусу 401");
+    }
+
+    @Test
+    @DisplayName("Textfile содержит счётчики и гистограмму в формате Prometheus")
+    public void textfileExportTest(@TempDir Path dir) throws Exception {
+        apiClient.getIngredients();
+        apiClient.loginUser(new UserCredentials("nobody@yandex.ru", "12345"));
+
+        String text = exportTextfile(dir.resolve("stellarburgers.prom"));
+
+        assertTrue(text.contains("stellarburgers_client_requests_total{method=\"GET\",endpoint=\"api/ingredients\"} 1"), text);
+        assertTrue(text.contains("stellarburgers_client_errors_total{method=\"POST\",endpoint=\"api/auth/login\",status=\"401\"} 1"), text);
+        assertTrue(text.contains("stellarburgers_client_request_duration_seconds_bucket{method=\"GET\",endpoint=\"api/ingredients\",le=\"+Inf\"} 1"), text);
+        assertFalse(text.contains("# EOF"), "Маркер # EOF относится к OpenMetrics, а не к формату Prometheus");
+    }
+
+    @Test
+    @DisplayName("Перцентили гистограммы укладываются в погрешность корзины")
+    public void histogramPercentilesTest() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.recordMicros(micros);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(100_000, snapshot.getTotalCount());
+        assertEquals(50_000, snapshot.percentileMicros(50), 50_000 * 0.125);
+        assertEquals(99_000, snapshot.percentileMicros(99), 99_000 * 0.125);
+        assertEquals(snapshot.getTotalCount() * 2, snapshot.merge(snapshot).getTotalCount(), "Слияние должно складывать счётчики");
+    }
+
+    @Test
+    @DisplayName("Значение на границе корзины входит в её le, как в Prometheus")
+    public void bucketBoundsAreInclusiveTest() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordMicros(256);
+        histogram.recordMicros(257);
+        histogram.recordMicros(512);
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(1, snapshot.countAtMost(256), "256 мкс должно попасть в le=0.000256");
+        assertEquals(3, snapshot.countAtMost(512), "512 мкс должно попасть в le=0.000512");
+        assertEquals(0, new LatencyHistogram().snapshot().countAtMost(256), "Пустая гистограмма");
+        assertEquals(256, snapshot.percentileMicros(0), "Перцентиль - включающая верхняя граница корзины");
+    }
+
+    @Step("Выгрузка метрик в {file}")
+    private String exportTextfile(Path file) throws Exception {
+        try (PrometheusTextExporter exporter = registry.startTextfileExport(file, Duration.ofMinutes(1))) {
+            exporter.write();
+        }
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        stub.close();
+    }
+}
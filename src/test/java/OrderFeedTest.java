@@ -0,0 +1,142 @@
+import client.ApiClient;
+import client.TypedApiClient;
+import feed.FeedLatencyTracker;
+import feed.FeedMessage;
+import feed.OrderFeedClient;
+import io.qameta.allure.Step;
+import metrics.HistogramSnapshot;
+import metrics.MetricsRegistry;
+import model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import support.OrderFeedStub;
+import support.StellarBurgersStub;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Лента заказов по WebSocket")
+public class OrderFeedTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final String ORDER_BODY = String.format("{\"ingredients\": [\"%s\", \"%s\"]}",
+            StellarBurgersStub.BUN_ID, StellarBurgersStub.MAIN_ID);
+
+    private StellarBurgersStub stub;
+    private OrderFeedStub feedStub;
+    private TypedApiClient apiClient;
+    private String accessToken;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        stub = new StellarBurgersStub();
+        feedStub = new OrderFeedStub(stub);
+        apiClient = new TypedApiClient(new ApiClient(stub.baseUrl(), new MetricsRegistry()));
+        String email = "feed-" + System.currentTimeMillis() + "@yandex.ru";
+        accessToken = apiClient.createUser(new User(email, "12345", "Roms")).body().getAccessToken();
+    }
+
+    @Test
+    @DisplayName("Заказы приходят в общую ленту и ленту пользователя, задержка доставки измеряется")
+    public void deliveryLatencyTest() throws Exception {
+        feedStub.setFragmentSize(64);
+        feedStub.setPublishDelay(Duration.ofMillis(20));
+        try (OrderFeedClient allOrders = OrderFeedClient.allOrders(feedStub.feedUrl(), 16);
+             OrderFeedClient userOrders = OrderFeedClient.userOrders(feedStub.feedUrl(), accessToken, 16)) {
+            assertNotNull(allOrders.poll(TIMEOUT), "Общая лента должна прислать текущее состояние при подключении");
+            assertNotNull(userOrders.poll(TIMEOUT), "Лента пользователя должна прислать текущее состояние при подключении");
+
+            long lastNumber = 0;
+            for (int i = 0; i < 5; i++) {
+                lastNumber = createOrder(allOrders, userOrders);
+                assertDelivered(allOrders, lastNumber);
+                assertDelivered(userOrders, lastNumber);
+            }
+
+            FeedMessage userMessage = drainToLast(userOrders);
+            assertEquals(5, userMessage.getOrders().size(), "В ленте пользователя должны быть все его заказы");
+            FeedMessage allMessage = drainToLast(allOrders);
+            assertEquals(lastNumber, allMessage.getOrders().get(0).getNumber(), "Последний заказ должен быть первым в общей ленте");
+            assertEquals(StellarBurgersStub.MAIN_ID, allMessage.getOrders().get(0).getIngredients().get(1),
+                    "Ингредиенты заказа должны разбираться из фрагментированного сообщения");
+
+            HistogramSnapshot latency = allOrders.getLatencyTracker().latencySnapshot();
+            assertEquals(5, latency.getTotalCount(), "Задержка считается один раз на заказ, хотя лента повторяет заказы");
+            assertTrue(latency.percentileMicros(50) >= 15_000, "Задержка доставки должна учитывать задержку публикации: "
+                    + latency.percentileMicros(50) + " мкс");
+            assertNull(allOrders.getFailure(), "Лента не должна падать");
+        }
+    }
+
+    @Test
+    @DisplayName("Медленный потребитель тормозит чтение ленты, сообщения не теряются")
+    public void slowConsumerBackpressureTest() throws Exception {
+        int orders = 30;
+        // Мелкие фрагменты: очередь заполняется, пока сообщение ещё не дочитано из сокета
+        feedStub.setFragmentSize(32);
+        try (OrderFeedClient allOrders = OrderFeedClient.allOrders(feedStub.feedUrl(), 2)) {
+            for (int i = 0; i < orders; i++) {
+                apiClient.createOrder(accessToken, ORDER_BODY);
+            }
+            waitForSentMessages(orders + 1);
+            assertTrue(allOrders.getReceivedMessages() <= 3,
+                    "Пока очередь полна, клиент не должен читать новые сообщения: " + allOrders.getReceivedMessages());
+            assertTrue(allOrders.getStalls() > 0, "Заполненная очередь должна останавливать чтение");
+
+            long previousTotal = -1;
+            for (int i = 0; i <= orders; i++) {
+                FeedMessage message = allOrders.poll(TIMEOUT);
+                assertNotNull(message, "Сообщение " + i + " потеряно");
+                assertTrue(message.getTotal() > previousTotal, "Сообщения должны приходить по порядку");
+                previousTotal = message.getTotal();
+            }
+            assertNull(allOrders.poll(Duration.ofMillis(200)), "Лишних сообщений быть не должно");
+            assertEquals(orders + 1, allOrders.getReceivedMessages(), "Клиент должен получить все сообщения");
+        }
+    }
+
+    @Step("Создание заказа с регистрацией в трекерах задержки")
+    private long createOrder(OrderFeedClient... feeds) {
+        long number = apiClient.createOrder(accessToken, ORDER_BODY).body().getOrder().getNumber();
+        for (OrderFeedClient feed : feeds) {
+            feed.getLatencyTracker().orderCreated(number);
+        }
+        return number;
+    }
+
+    // Трекер видит заказ только после чтения сообщения, поэтому очередь ленты разгружается по ходу ожидания
+    private void assertDelivered(OrderFeedClient feed, long number) throws InterruptedException {
+        FeedLatencyTracker tracker = feed.getLatencyTracker();
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!tracker.awaitDelivery(number, Duration.ofMillis(50)) && System.nanoTime() < deadline) {
+            feed.poll(Duration.ofMillis(50));
+        }
+        assertEquals(0, tracker.getPending(), "Заказ " + number + " не появился в ленте");
+    }
+
+    private FeedMessage drainToLast(OrderFeedClient feed) throws InterruptedException {
+        FeedMessage last = null;
+        for (FeedMessage message = feed.poll(Duration.ofMillis(200)); message != null; message = feed.poll(Duration.ofMillis(200))) {
+            last = message;
+        }
+        assertNotNull(last, "Лента должна прислать сообщения о заказах");
+        return last;
+    }
+
+    private void waitForSentMessages(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (feedStub.sentMessages() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, feedStub.sentMessages(), "Заглушка должна отправить все сообщения");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        feedStub.close();
+        stub.close();
+    }
+}
@@ -0,0 +1,66 @@
+import client.ApiClient;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Step;
+import load.OrderNumberChecker;
+import load.OrderNumberReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import support.StellarBurgersStub;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Уникальность и монотонность номеров заказов при конкурентном создании")
+public class OrderNumberUniquenessTest {
+
+    private static final int THREADS = 8;
+    private static final int ORDERS_PER_THREAD = 125;
+
+    private StellarBurgersStub stub;
+    private ApiClient apiClient;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        stub = new StellarBurgersStub();
+        apiClient = new ApiClient(stub.baseUrl());
+    }
+
+    @Test
+    @DisplayName("Конкурентные заказы получают уникальные возрастающие номера без пропусков")
+    public void concurrentOrderNumbersAreUniqueTest() throws Exception {
+        OrderNumberReport report = checkOrderNumbers();
+
+        assertEquals(THREADS * ORDERS_PER_THREAD, report.getOrders(), "Все заказы должны вернуть номер");
+        assertEquals(0, report.getDuplicates(), "Номера заказов не должны повторяться");
+        assertEquals(0, report.getOrderingViolations(), "Номера заказов одного потока должны возрастать");
+        assertEquals(0, report.getGaps(), "На изолированной заглушке в нумерации не должно быть пропусков");
+        assertTrue(report.throughputPerSecond() > 0, "Пропускная способность должна быть посчитана");
+    }
+
+    @Test
+    @DisplayName("Повторно выданные номера попадают в отчёт как дубликаты")
+    public void duplicateOrderNumbersAreReportedTest() throws Exception {
+        AtomicLong sequence = new AtomicLong();
+        stub.setOrderNumbers(() -> 10_000 + sequence.getAndIncrement() / 2);
+
+        OrderNumberReport report = checkOrderNumbers();
+
+        assertEquals(THREADS * ORDERS_PER_THREAD / 2, report.getDuplicates(), "Каждый номер выдан дважды");
+        assertTrue(report.getDuplicateExamples().length > 0, "В отчёте должны быть примеры дубликатов");
+    }
+
+    @Step("Проверка номеров заказов при конкурентном создании")
+    private OrderNumberReport checkOrderNumbers() throws Exception {
+        OrderNumberReport report = new OrderNumberChecker(apiClient, "", THREADS, ORDERS_PER_THREAD).run();
+        Allure.addAttachment("Отчёт по номерам заказов", "text/plain", report.toText());
+        return report;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        stub.close();
+    }
+}
@@ -0,0 +1,98 @@
+import client.ApiClient;
+import io.qameta.allure.Step;
+import load.UserFlow;
+import metrics.MetricsRegistry;
+import model.User;
+import model.UserCredentials;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import schema.ApiSchemas;
+import support.StellarBurgersStub;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Проверка ответов ApiClient по JSON-схемам")
+public class SchemaValidationTest {
+
+    private StellarBurgersStub stub;
+    private MetricsRegistry registry;
+    private ApiClient apiClient;
+    private ApiSchemas schemas;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        stub = new StellarBurgersStub();
+        registry = new MetricsRegistry();
+        schemas = new ApiSchemas(ApiSchemas.Mode.STRICT);
+        apiClient = new ApiClient(stub.baseUrl(), registry, schemas);
+    }
+
+    @Test
+    @DisplayName("Успешные ответы и ошибки всех эндпоинтов проходят строгую проверку")
+    public void allEndpointsMatchSchemasTest() {
+        assertTrue(new UserFlow(apiClient).runOnce(), "Сквозной сценарий должен пройти");
+        apiClient.loginUser(new UserCredentials("nobody@yandex.ru", "12345"));
+        apiClient.createUser(new User("", "12345", "Roms"));
+        apiClient.createOrder("", "{\"ingredients\": []}");
+        apiClient.createOrder("", "{\"ingredients\": [\"invalid_hash_XXX\"]}");
+        apiClient.getUserOrders("");
+
+        registry.endpoints().forEach(endpoint -> assertEquals(0, endpoint.getSchemaViolations(),
+                "Нарушения схемы на " + endpoint.getMethod() + " " + endpoint.getEndpoint()));
+    }
+
+    @Test
+    @DisplayName("Нарушения контракта находятся за один проход с путями до полей")
+    public void violationsAreReportedWithPathsTest() {
+        List<String> violations = checkOrderResponse("{\"success\": true, \"order\": {\"number\": \"42\"}}");
+
+        assertEquals(2, violations.size(), violations.toString());
+        assertTrue(violations.stream().anyMatch(violation -> violation.startsWith("$.order.number: ожидался тип")), violations.toString());
+        assertTrue(violations.stream().anyMatch(violation -> violation.startsWith("$.name: обязательное поле")), violations.toString());
+    }
+
+    @Test
+    @DisplayName("Число с нулевой дробной частью проходит как integer, дробное - нет")
+    public void integerAcceptsZeroFractionTest() {
+        for (String number : List.of("42", "42.0", "4.2e1", "4200E-2", "-0.0")) {
+            List<String> violations = checkOrderResponse("{\"success\": true, \"name\": \"Бургер\", \"order\": {\"number\": " + number + "}}");
+            assertEquals(List.of(), violations, number + " - целое число по draft-07");
+        }
+        for (String number : List.of("42.5", "4.25e1", "1e-3")) {
+            List<String> violations = checkOrderResponse("{\"success\": true, \"name\": \"Бургер\", \"order\": {\"number\": " + number + "}}");
+            assertEquals(1, violations.size(), number + " не является целым: " + violations);
+        }
+    }
+
+    @Test
+    @DisplayName("Ответ с ошибкой сверяется со схемой ошибки")
+    public void errorResponseIsValidatedTest() {
+        List<String> violations = schemas.check("POST", "api/auth/login", 401, "application/json",
+                "{\"success\": true}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(2, violations.size(), violations.toString());
+    }
+
+    @Test
+    @DisplayName("Неизвестный режим проверки отклоняется со списком допустимых")
+    public void unknownModeIsRejectedTest() {
+        assertEquals(ApiSchemas.Mode.RECORD, ApiSchemas.Mode.parse(" Record "), "Режим разбирается без учёта регистра и пробелов");
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> ApiSchemas.Mode.parse("loose"));
+        assertTrue(error.getMessage().contains("strict, record, off"), "Ошибка должна перечислять режимы: " + error.getMessage());
+    }
+
+    @Step("Проверка ответа создания заказа: {body}")
+    private List<String> checkOrderResponse(String body) {
+        return schemas.check("POST", "api/orders", 200, "application/json; charset=utf-8", body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        stub.close();
+    }
+}
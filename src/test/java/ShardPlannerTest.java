@@ -0,0 +1,80 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sharding.AllureDurations;
+import sharding.ShardFilter;
+import sharding.ShardPlanner;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Планирование шардов тестов по истории Allure")
+public class ShardPlannerTest {
+
+    @Test
+    @DisplayName("Длительность класса - сумма последних прогонов его тестов")
+    public void durationsAreReadFromAllureResultsTest(@TempDir Path dir) throws Exception {
+        writeResult(dir, "a1", "LoginUserTest", "LoginUserTest.first", 1_000, 1_300);
+        writeResult(dir, "a2", "LoginUserTest", "LoginUserTest.first", 5_000, 5_100);
+        writeResult(dir, "a3", "LoginUserTest", "LoginUserTest.second", 5_000, 5_200);
+        writeResult(dir, "b1", "CreateOrderTest", "CreateOrderTest.first", 2_000, 2_700);
+
+        Map<String, Long> durations = AllureDurations.read(List.of(dir));
+
+        assertEquals(300, durations.get("LoginUserTest"), "Должен учитываться только последний прогон каждого теста");
+        assertEquals(700, durations.get("CreateOrderTest"));
+    }
+
+    @Test
+    @DisplayName("Вызовы параметризованного теста с общим fullName складываются")
+    public void parameterizedInvocationsAreSummedTest(@TempDir Path dir) throws Exception {
+        writeResult(dir, "p1", "UserRegistrationTest", "UserRegistrationTest.emptyField", "h1", 1_000, 1_200);
+        writeResult(dir, "p2", "UserRegistrationTest", "UserRegistrationTest.emptyField", "h2", 1_200, 1_500);
+        writeResult(dir, "p3", "UserRegistrationTest", "UserRegistrationTest.emptyField", "h3", 1_500, 1_900);
+        writeResult(dir, "p4", "UserRegistrationTest", "UserRegistrationTest.emptyField", "h1", 9_000, 9_100);
+
+        Map<String, Long> durations = AllureDurations.read(List.of(dir));
+
+        assertEquals(100 + 300 + 400, durations.get("UserRegistrationTest"),
+                "Каждый вызов считается отдельно, для повторённого берётся последний прогон");
+    }
+
+    @Test
+    @DisplayName("Жадная упаковка выравнивает шарды, классы без истории тоже распределяются")
+    public void shardsAreBalancedTest() {
+        Map<String, Long> durations = Map.of("A", 70L, "B", 50L, "C", 40L, "D", 30L, "E", 10L);
+
+        List<List<String>> shards = ShardPlanner.plan(List.of("A", "B", "C", "D", "E", "NewTest"), durations, 2);
+
+        assertEquals(List.of("A", "NewTest", "E"), shards.get(0), "Класс без истории считается средним (40)");
+        assertEquals(List.of("B", "C", "D"), shards.get(1));
+    }
+
+    @Test
+    @DisplayName("В план попадают только классы с тестовыми методами, а не всё, что совпало с шаблоном имени")
+    public void onlyClassesWithTestsArePlannedTest() {
+        assertTrue(ShardFilter.isTestClass("LoginUserTest"), "Класс с @Test должен планироваться");
+        assertTrue(ShardFilter.isTestClass("ShardPlannerTest"), "Класс с @Test должен планироваться");
+        assertFalse(ShardFilter.isTestClass("impact.TestImpact"), "Модель записи влияния совпадает с Test.*, но тестов в ней нет");
+        assertFalse(ShardFilter.isTestClass("impact.TestImpactRecorder"), "Расширение JUnit не является тестовым классом");
+        assertFalse(ShardFilter.isTestClass("NoSuchTest"), "Несуществующий класс не планируется");
+    }
+
+    private static void writeResult(Path dir, String uuid, String testClass, String fullName, long start, long stop) throws Exception {
+        writeResult(dir, uuid, testClass, fullName, null, start, stop);
+    }
+
+    private static void writeResult(Path dir, String uuid, String testClass, String fullName, String historyId,
+                                    long start, long stop) throws Exception {
+        String json = "{\"uuid\":\"" + uuid + "\",\"fullName\":\"" + fullName + "\","
+                + (historyId == null ? "" : "\"historyId\":\"" + historyId + "\",")
+                + "\"labels\":[{\"name\":\"testClass\",\"value\":\"" + testClass + "\"}],"
+                + "\"start\":" + start + ",\"stop\":" + stop + "}";
+        Files.write(dir.resolve(uuid + "-result.json"), json.getBytes(StandardCharsets.UTF_8));
+    }
+}
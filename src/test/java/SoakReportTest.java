@@ -0,0 +1,102 @@
+import io.qameta.allure.Step;
+import load.ResourceSample;
+import load.SoakConfig;
+import load.SoakReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Тренды и пороги soak-отчёта на синтетических замерах")
+public class SoakReportTest {
+
+    private static final long MB = 1024L * 1024L;
+    private static final long MINUTE_MILLIS = 60_000;
+
+    @Test
+    @DisplayName("Ровные ресурсы после прогрева проходят, рост в прогреве не учитывается")
+    public void flatResourcesPassTest() {
+        SoakConfig config = config(Duration.ofMinutes(10));
+        List<ResourceSample> samples = new ArrayList<>();
+        // В прогреве heap и потоки растут, после него стоят на месте
+        for (int minute = 0; minute <= 60; minute += 5) {
+            boolean warm = minute < 10;
+            samples.add(new ResourceSample(minute * MINUTE_MILLIS, (warm ? 50 + minute * 10 : 150) * MB, warm ? 10 + minute : 20, 4));
+        }
+
+        SoakReport report = report(config, samples);
+
+        assertTrue(report.isPassed(), report.toText());
+        assertEquals(0, report.getHeapSlopeMbPerHour(), 1e-9, "После прогрева heap не растёт");
+        assertEquals(0, report.getThreadSlopePerHour(), 1e-9, "После прогрева потоки не растут");
+    }
+
+    @Test
+    @DisplayName("Рост выше порога попадает в нарушения с наклоном в час")
+    public void growthAboveThresholdFailsTest() {
+        SoakConfig config = config(Duration.ZERO);
+        List<ResourceSample> samples = new ArrayList<>();
+        // heap +1 MB в минуту = 60 MB/ч, соединения +1 в 10 минут = 6 в час, потоки ровные
+        for (int minute = 0; minute <= 60; minute += 10) {
+            samples.add(new ResourceSample(minute * MINUTE_MILLIS, (100 + minute) * MB, 20, 4 + minute / 10));
+        }
+
+        SoakReport report = report(config, samples);
+
+        assertFalse(report.isPassed(), report.toText());
+        assertEquals(60, report.getHeapSlopeMbPerHour(), 1e-6, "Наклон heap считается в MB в час");
+        assertEquals(6, report.getConnectionSlopePerHour(), 1e-6, "Наклон соединений считается в штуках в час");
+        assertEquals(2, report.getViolations().size(), "Нарушения должны быть по heap и connections: " + report.getViolations());
+        assertTrue(report.getViolations().get(0).startsWith("heap"), report.getViolations().toString());
+        assertTrue(report.getViolations().get(1).startsWith("connections"), report.getViolations().toString());
+    }
+
+    @Test
+    @DisplayName("Без замеров после прогрева отчёт не проходит, а конфигурация с прогревом не короче прогона отклоняется")
+    public void noSteadyStateSamplesFailTest() {
+        SoakConfig config = config(Duration.ofHours(2));
+        List<ResourceSample> samples = List.of(
+                new ResourceSample(0, 100 * MB, 20, 4),
+                new ResourceSample(60 * MINUTE_MILLIS, 500 * MB, 90, 40));
+
+        SoakReport report = report(config, samples);
+
+        assertFalse(report.isPassed(), "Без замеров после прогрева нулевой тренд не должен означать успех");
+
+        config.setDuration(Duration.ofHours(2));
+        assertThrows(IllegalArgumentException.class, config::validate, "Прогрев, равный прогону, должен отклоняться");
+        config.setDuration(Duration.ofHours(3));
+        assertDoesNotThrow(config::validate, "Прогрев короче прогона допустим");
+    }
+
+    @Test
+    @DisplayName("JFR-запись soak-прогона ограничена по возрасту и размеру")
+    public void jfrRecordingIsBoundedTest() {
+        SoakConfig config = config(Duration.ofMinutes(5));
+        assertDoesNotThrow(config::validate, "Ограничения JFR по умолчанию должны быть допустимыми");
+
+        config.setJfrMaxSizeMb(0);
+        assertThrows(IllegalArgumentException.class, config::validate, "Запись без ограничения размера должна отклоняться");
+        config.setJfrMaxSizeMb(512);
+        config.setJfrMaxAge(Duration.ZERO);
+        assertThrows(IllegalArgumentException.class, config::validate, "Запись без ограничения возраста должна отклоняться");
+    }
+
+    private static SoakConfig config(Duration warmup) {
+        SoakConfig config = new SoakConfig();
+        config.setWarmup(warmup);
+        config.setMaxHeapSlopeMbPerHour(16);
+        config.setMaxThreadSlopePerHour(2);
+        config.setMaxConnectionSlopePerHour(2);
+        return config;
+    }
+
+    @Step("Построение soak-отчёта по синтетическим замерам")
+    private SoakReport report(SoakConfig config, List<ResourceSample> samples) {
+        return new SoakReport(config, samples, 100, 0);
+    }
+}
@@ -0,0 +1,29 @@
+import io.qameta.allure.Allure;
+import io.qameta.allure.Step;
+import load.SoakConfig;
+import load.SoakReport;
+import load.SoakRunner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Запуск: mvn test -Dtest=SoakTest -Dsoak.duration=4h [-Dsoak.baseUrl=... -Dsoak.threads=8 -Dsoak.jfrMaxAge=2h]
+@DisplayName("Soak-тест сквозного сценария пользователя")
+@EnabledIfSystemProperty(named = "soak.duration", matches = ".+")
+public class SoakTest {
+
+    @Test
+    @DisplayName("Память, потоки и соединения не растут на длинном прогоне")
+    public void resourcesDoNotLeakTest() throws Exception {
+        SoakReport report = runSoak(SoakConfig.fromSystemProperties());
+        Allure.addAttachment("Soak-отчёт", "text/plain", report.toText());
+        assertTrue(report.isPassed(), report.toText());
+    }
+
+    @Step("Soak-прогон сквозного сценария")
+    private SoakReport runSoak(SoakConfig config) throws Exception {
+        return new SoakRunner(config).run();
+    }
+}
@@ -0,0 +1,201 @@
+import client.ApiCallContext;
+import client.ApiCallObserver;
+import client.ApiClient;
+import impact.ChangeSet;
+import impact.ImpactFilter;
+import impact.TestImpact;
+import impact.TestImpactRecorder;
+import io.qameta.allure.Step;
+import model.AuthResponse;
+import model.OrderResponse;
+import model.OrdersResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import support.StellarBurgersStub;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+@DisplayName("Выбор тестов по влиянию изменений")
+public class TestImpactSelectionTest {
+
+    private static final List<String> API_CLIENT_SOURCE = List.of(
+            "package client;",                                                   // 1
+            "",                                                                  // 2
+            "public class ApiClient {",                                          // 3
+            "",                                                                  // 4
+            "    // Логин пользователя",                                         // 5
+            "    public Response loginUser(UserCredentials credentials) {",      // 6
+            "        return send(\"loginUser\", credentials, \"POST\", \"api/auth/login\", given()", // 7
+            "                .body(credentials));",                              // 8
+            "    }",                                                             // 9
+            "",                                                                  // 10
+            "    // Создание заказа",                                            // 11
+            "    public Response createOrder(String accessToken, String requestBody) {", // 12
+            "        return send(\"createOrder\", requestBody, \"POST\", \"api/orders\", given()", // 13
+            "                .body(requestBody));",                              // 14
+            "    }",                                                             // 15
+            "}");                                                                // 16
+
+    private static final TestImpact LOGIN = new TestImpact("c1", Set.of("createUser", "loginUser"),
+            Set.of("model.User", "model.UserCredentials", "model.AuthResponse", "model.UserProfile"));
+    private static final TestImpact ORDERS = new TestImpact("c1", Set.of("createUser", "createOrder", "getUserOrders"),
+            Set.of("model.User", "model.AuthResponse", "model.UserProfile", "model.OrdersResponse", "model.Order"));
+
+    @Test
+    @DisplayName("Модели записываются вместе с моделями в их полях")
+    public void modelsAreCollectedTransitivelyTest() {
+        assertEquals(Set.of("model.AuthResponse", "model.UserProfile"), models(AuthResponse.class));
+        assertEquals(Set.of("model.OrdersResponse", "model.Order"), models(OrdersResponse.class),
+                "Модель из List<Order> должна попасть в запись");
+        assertEquals(Set.of("model.OrderResponse"), models(OrderResponse.class),
+                "Вложенный класс записывается именем своего файла");
+    }
+
+    @Test
+    @DisplayName("Правка метода эндпоинта выбирает только тесты этой операции")
+    public void apiClientHunksMapToEndpointsTest() {
+        ChangeSet loginChanged = ChangeSet.classify(List.of(ChangeSet.API_CLIENT),
+                List.of("@@ -8 +8 @@ public class ApiClient {"), API_CLIENT_SOURCE);
+        assertFalse(loginChanged.isFullRun(), loginChanged.toString());
+        assertTrue(loginChanged.affects("LoginUserTest", LOGIN), "Тест логина затронут правкой loginUser");
+        assertFalse(loginChanged.affects("GetUserOrdersTest", ORDERS), "Тест заказов не вызывает loginUser");
+
+        ChangeSet commentChanged = ChangeSet.classify(List.of(ChangeSet.API_CLIENT),
+                List.of("@@ -11,0 +12,0 @@"), API_CLIENT_SOURCE);
+        assertTrue(commentChanged.affects("GetUserOrdersTest", ORDERS), "Удаление внутри createOrder относится к нему");
+
+        ChangeSet headerChanged = ChangeSet.classify(List.of(ChangeSet.API_CLIENT),
+                List.of("@@ -2,0 +3,2 @@"), API_CLIENT_SOURCE);
+        assertTrue(headerChanged.isFullRun(), "Правка вне методов эндпоинтов требует полного прогона");
+    }
+
+    @Test
+    @DisplayName("Изменённая модель и изменённый тест выбирают свои тесты, прочие изменения - полный прогон")
+    public void changedPathsSelectionTest() {
+        ChangeSet changes = ChangeSet.classify(
+                List.of("src/main/java/model/UserCredentials.java", "README.md", "src/test/java/CreateOrderTest.java"),
+                List.of(), API_CLIENT_SOURCE);
+
+        assertFalse(changes.isFullRun(), changes.toString());
+        assertTrue(changes.affects("LoginUserTest", LOGIN), "Логин использует UserCredentials");
+        assertFalse(changes.affects("GetUserOrdersTest", ORDERS), "Заказы не используют UserCredentials");
+        assertTrue(changes.affects("CreateOrderTest", ORDERS), "Изменённый тестовый класс запускается целиком");
+
+        assertTrue(ChangeSet.classify(List.of("pom.xml"), List.of(), API_CLIENT_SOURCE).isFullRun());
+        assertTrue(ChangeSet.classify(List.of("src/main/java/metrics/EndpointMetrics.java"), List.of(), API_CLIENT_SOURCE).isFullRun());
+        assertTrue(ChangeSet.classify(List.of("src/test/java/support/StellarBurgersStub.java"), List.of(), API_CLIENT_SOURCE).isFullRun());
+        assertTrue(ChangeSet.classify(List.of("src/test/java/impact/TestImpactRecorder.java"), List.of(), API_CLIENT_SOURCE).isFullRun(),
+                "Имя по шаблону surefire без тестовых методов - вспомогательный код, нужен полный прогон");
+    }
+
+    @Test
+    @DisplayName("Модели, которые тест использует напрямую, записываются по байткоду класса")
+    public void directlyUsedModelsAreRecordedTest() throws Exception {
+        assertEquals(Set.of("model.AuthResponse", "model.UserProfile", "model.OrdersResponse", "model.Order", "model.OrderResponse"),
+                TestImpactRecorder.referencedModels(TestImpactSelectionTest.class),
+                "Литералы классов модели в тесте должны попасть в запись вместе с моделями в их полях");
+    }
+
+    @Test
+    @DisplayName("Упавший тест выбирается в следующий прогон по влиянию, даже если с записи ничего не изменилось")
+    public void failedTestIsSelectedAgainTest(@TempDir Path impactDir) throws Exception {
+        ApiCallObserver observer = ApiCallContext.getObserver();
+        try (StellarBurgersStub stub = new StellarBurgersStub()) {
+            ImpactRunFixture.baseUrl = stub.baseUrl();
+            ImpactRunFixture.broken = true;
+            assertEquals(Map.of("brokenTest", false, "passingTest", true), runFixture(impactDir, false),
+                    "Без выбора по влиянию запускаются оба теста, сломанный падает");
+
+            ImpactRunFixture.broken = false;
+            assertEquals(Map.of("brokenTest", true), runFixture(impactDir, true),
+                    "Изменений нет, но упавший тест должен запуститься снова, а прошедший - нет");
+
+            assertEquals(Map.of(), runFixture(impactDir, true),
+                    "После успешного прогона запись обновлена, без изменений запускать нечего");
+        } finally {
+            ApiCallContext.setObserver(observer);
+        }
+    }
+
+    // Отдельный запуск JUnit без автоподключений (Allure, глобальные фильтры) и без git: изменений с записи нет.
+    // Возвращает тест -> прошёл ли он
+    @Step("Прогон тестов-образцов с записью влияния, выбор по влиянию: {select}")
+    private Map<String, Boolean> runFixture(Path impactDir, boolean select) {
+        Map<String, Boolean> results = new TreeMap<>();
+        String previousDir = System.setProperty("impact.dir", impactDir.toString());
+        String previousSelect = System.setProperty("impact.select", Boolean.toString(select));
+        try {
+            Launcher launcher = LauncherFactory.create(LauncherConfig.builder()
+                    .enableTestExecutionListenerAutoRegistration(false)
+                    .enablePostDiscoveryFilterAutoRegistration(false)
+                    .build());
+            ImpactFilter noChanges = new ImpactFilter(commit -> ChangeSet.classify(List.of(), List.of(), null));
+            launcher.execute(LauncherDiscoveryRequestBuilder.request()
+                    .selectors(selectClass(ImpactRunFixture.class))
+                    .filters(noChanges)
+                    .configurationParameter("junit.jupiter.extensions.autodetection.enabled", "false")
+                    .build(), new TestExecutionListener() {
+                @Override
+                public void executionFinished(TestIdentifier test, TestExecutionResult result) {
+                    test.getSource().filter(MethodSource.class::isInstance).map(MethodSource.class::cast).ifPresent(method ->
+                            results.put(method.getMethodName(), result.getStatus() == TestExecutionResult.Status.SUCCESSFUL));
+                }
+            });
+        } finally {
+            restoreProperty("impact.dir", previousDir);
+            restoreProperty("impact.select", previousSelect);
+        }
+        return results;
+    }
+
+    private static void restoreProperty(String name, String value) {
+        if (value == null) {
+            System.clearProperty(name);
+        } else {
+            System.setProperty(name, value);
+        }
+    }
+
+    // Запускается только из failedTestIsSelectedAgainTest: surefire вложенные классы не подбирает
+    @ExtendWith(TestImpactRecorder.class)
+    public static class ImpactRunFixture {
+
+        static volatile String baseUrl;
+        static volatile boolean broken;
+
+        @Test
+        public void brokenTest() {
+            assertEquals(200, new ApiClient(baseUrl).getIngredients().statusCode());
+            assertFalse(broken, "Тест сломан до исправления");
+        }
+
+        @Test
+        public void passingTest() {
+            assertEquals(200, new ApiClient(baseUrl).getIngredients().statusCode());
+        }
+    }
+
+    private static Set<String> models(Class<?> modelClass) {
+        Set<String> models = new HashSet<>();
+        TestImpactRecorder.collectModels(modelClass, models, new HashSet<>());
+        return models;
+    }
+}
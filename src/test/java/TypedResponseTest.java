@@ -0,0 +1,114 @@
+import client.ApiClient;
+import client.ApiResult;
+import client.TypedApiClient;
+import io.qameta.allure.Step;
+import metrics.MetricsRegistry;
+import model.AuthResponse;
+import model.IngredientsResponse;
+import model.OrderResponse;
+import model.OrdersResponse;
+import model.User;
+import model.UserCredentials;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import support.StellarBurgersStub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Типизированные ответы ApiClient")
+public class TypedResponseTest {
+
+    private StellarBurgersStub stub;
+    private TypedApiClient apiClient;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        stub = new StellarBurgersStub();
+        apiClient = new TypedApiClient(new ApiClient(stub.baseUrl(), new MetricsRegistry()));
+    }
+
+    @Test
+    @DisplayName("Тела успешных ответов разбираются в модели один раз")
+    public void successBodiesAreDecodedOnceTest() {
+        String email = "typed-" + System.currentTimeMillis() + "@yandex.ru";
+        ApiResult<AuthResponse> created = apiClient.createUser(new User(email, "12345", "Roms"));
+
+        AuthResponse auth = created.body();
+        assertSame(auth, created.body(), "Повторный вызов body() не должен разбирать ответ заново");
+        assertTrue(auth.getAccessToken().startsWith("Bearer "), "Access token должен начинаться с 'Bearer '");
+        assertNotNull(auth.getRefreshToken(), "Refresh token должен быть возвращен");
+        assertEquals(email, auth.getUser().getEmail(), "Email в ответе должен совпадать с email пользователя");
+        assertNotNull(created.getResponse(), "Исходный Response должен оставаться доступным");
+
+        List<String> ingredientIds = apiClient.getIngredients().body().ingredientIds();
+        assertEquals(List.of(StellarBurgersStub.BUN_ID, StellarBurgersStub.SAUCE_ID, StellarBurgersStub.MAIN_ID), ingredientIds,
+                "Идентификаторы ингредиентов должны читаться из поля _id");
+
+        String orderBody = String.format("{\"ingredients\": [\"%s\", \"%s\"]}", ingredientIds.get(0), ingredientIds.get(1));
+        OrderResponse order = apiClient.createOrder(auth.getAccessToken(), orderBody).body();
+        assertTrue(order.getOrder().getNumber() > 0, "Номер заказа должен быть положительным");
+
+        OrdersResponse orders = apiClient.getUserOrders(auth.getAccessToken()).body();
+        assertEquals(1, orders.getOrders().size(), "У пользователя должен быть один заказ");
+        assertEquals(order.getOrder().getNumber(), orders.getOrders().get(0).getNumber(), "Номер заказа в списке должен совпадать");
+
+        apiClient.deleteUser(auth.getAccessToken());
+    }
+
+    @Test
+    @DisplayName("Ответы с ошибкой отдают ErrorResponse, а body() сообщает статус")
+    public void errorResponsesTest() {
+        ApiResult<AuthResponse> login = apiClient.loginUser(new UserCredentials("nobody@yandex.ru", "12345"));
+
+        assertFalse(login.isSuccess(), "Логин несуществующего пользователя должен завершиться ошибкой");
+        assertEquals("email or password are incorrect", login.error().getMessage(), "Неверное сообщение об ошибке");
+        IllegalStateException exception = assertThrows(IllegalStateException.class, login::body);
+        assertTrue(exception.getMessage().contains("401"), exception.getMessage());
+
+        ApiResult<OrderResponse> invalidOrder = createOrderWithInvalidIngredient();
+        assertEquals(500, invalidOrder.statusCode(), "При невалидном хеше должен быть статус 500");
+        assertNull(invalidOrder.error(), "HTML-ответ 5xx не разбирается как JSON");
+    }
+
+    @Test
+    @DisplayName("Один результат можно разбирать из нескольких потоков, тело декодируется один раз")
+    public void bodyIsDecodedOnceAcrossThreadsTest() throws Exception {
+        ApiResult<IngredientsResponse> ingredients = apiClient.getIngredients();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<IngredientsResponse>> bodies = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                bodies.add(executor.submit(() -> {
+                    start.await();
+                    return ingredients.body();
+                }));
+            }
+            start.countDown();
+            for (Future<IngredientsResponse> body : bodies) {
+                assertSame(ingredients.body(), body.get(), "Все потоки должны получить один и тот же разобранный объект");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Step("Создание заказа с невалидным хешем ингредиента")
+    private ApiResult<OrderResponse> createOrderWithInvalidIngredient() {
+        return apiClient.createOrder("", "{\"ingredients\": [\"invalid_hash_XXX\"]}");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        stub.close();
+    }
+}
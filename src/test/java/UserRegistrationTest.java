@@ -1,11 +1,14 @@
-import client.ApiClient;
+import client.ApiResult;
+import client.TypedApiClient;
 import io.qameta.allure.Step;
-import io.restassured.response.Response;
+import model.AuthResponse;
+import model.ErrorResponse;
 import model.User;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.hamcrest.Matchers.*;
@@ -13,7 +16,7 @@ import static org.hamcrest.Matchers.*;
 @DisplayName("API тесты для регистрации пользователя")
 public class UserRegistrationTest {
 
-    private ApiClient apiClient = new ApiClient();
+    private TypedApiClient apiClient = new TypedApiClient();
     private String accessToken;
     private String testEmail;
 
@@ -89,31 +92,30 @@ public class UserRegistrationTest {
         testEmail = "roma-" + timestamp + "@yandex.ru";
         User user = new User(testEmail, "12345", "Roms");
 
-        Response response = apiClient.createUser(user);
-        assertEquals(200, response.statusCode(), "Неверный код ответа при создании пользователя");
+        ApiResult<AuthResponse> result = apiClient.createUser(user);
+        assertEquals(200, result.statusCode(), "Неверный код ответа при создании пользователя");
 
-        accessToken = response.path("accessToken");
-        validateUserCreationResponse(response, user);
+        validateUserCreationResponse(result.body(), user);
     }
 
     @Step("Попытка дублирующей регистрации пользователя")
     private void attemptDuplicateRegistration() {
         String timestamp = String.valueOf(System.currentTimeMillis());
         User duplicateUser = new User(testEmail, "12345", "Roms");
-        Response duplicateResponse = apiClient.createUser(duplicateUser);
+        ApiResult<AuthResponse> duplicateResult = apiClient.createUser(duplicateUser);
 
-        assertEquals(403, duplicateResponse.statusCode(),
+        assertEquals(403, duplicateResult.statusCode(),
                 "При создании пользователя, который уже зарегистрирован должен возвращаться 403 код");
 
-        validateDuplicateUserResponse(duplicateResponse);
+        validateDuplicateUserResponse(duplicateResult);
     }
 
     @Step("Создание пользователя без email")
     private void createUserWithoutEmail() {
         User user = new User(null, "1234", "Roms");
-        Response response = apiClient.createUser(user);
+        ApiResult<AuthResponse> result = apiClient.createUser(user);
 
-        assertEquals(403, response.statusCode(),
+        assertEquals(403, result.statusCode(),
                 "Пользователь без email должен возвращать код 403");
     }
 
@@ -123,9 +125,9 @@ public class UserRegistrationTest {
         testEmail = "roma-" + timestamp + "@yandex.ru";
         User user = new User(testEmail, null, "Roms");
 
-        Response response = apiClient.createUser(user);
+        ApiResult<AuthResponse> result = apiClient.createUser(user);
 
-        assertEquals(403, response.statusCode(),
+        assertEquals(403, result.statusCode(),
                 "Пользователь без password должен возвращать код 403");
     }
 
@@ -135,9 +137,9 @@ public class UserRegistrationTest {
         testEmail = "roma-" + timestamp + "@yandex.ru";
         User user = new User(testEmail, "12345", null);
 
-        Response response = apiClient.createUser(user);
+        ApiResult<AuthResponse> result = apiClient.createUser(user);
 
-        assertEquals(403, response.statusCode(),
+        assertEquals(403, result.statusCode(),
                 "Пользователь без name должен возвращать код 403");
     }
 
@@ -145,9 +147,9 @@ public class UserRegistrationTest {
     private void createUserWithEmptyEmail() {
         User user = new User("", "1234", "Roms");
 
-        Response response = apiClient.createUser(user);
+        ApiResult<AuthResponse> result = apiClient.createUser(user);
 
-        assertEquals(403, response.statusCode(),
+        assertEquals(403, result.statusCode(),
                 "Пользователь с пустым email должен возвращать код 403");
     }
 
@@ -157,9 +159,9 @@ public class UserRegistrationTest {
         testEmail = "roma-" + timestamp + "@yandex.ru";
         User user = new User(testEmail, "", "Roms");
 
-        Response response = apiClient.createUser(user);
+        ApiResult<AuthResponse> result = apiClient.createUser(user);
 
-        assertEquals(403, response.statusCode(),
+        assertEquals(403, result.statusCode(),
                 "Пользователь с пустым password должен возвращать код 403");
     }
 
@@ -169,9 +171,9 @@ public class UserRegistrationTest {
         testEmail = "roma-" + timestamp + "@yandex.ru";
         User user = new User(testEmail, "12345", "");
 
-        Response response = apiClient.createUser(user);
+        ApiResult<AuthResponse> result = apiClient.createUser(user);
 
-        assertEquals(403, response.statusCode(),
+        assertEquals(403, result.statusCode(),
                 "Пользователь с пустым user должен возвращать код 403");
     }
 
@@ -180,45 +182,37 @@ public class UserRegistrationTest {
         String timestamp = String.valueOf(System.currentTimeMillis());
         User user = new User("roma-" + timestamp + "@yandex.ru", "12345", "Roms");
 
-        Response response = apiClient.createUser(user);
+        ApiResult<AuthResponse> result = apiClient.createUser(user);
 
-        assertEquals(200, response.statusCode(), "Неверный код ответа при создании пользователя");
+        assertEquals(200, result.statusCode(), "Неверный код ответа при создании пользователя");
 
-        accessToken = response.path("accessToken");
-        validateUserCreationResponse(response, user);
+        validateUserCreationResponse(result.body(), user);
     }
 
     @Step("Валидация ответа при создании пользователя")
-    private void validateUserCreationResponse(Response response, User user) {
-        response.then()
-                .body("success", equalTo(true))
-                .body("user.email", equalTo(user.getEmail()))
-                .body("user.name", equalTo(user.getName()))
-                .body("accessToken", startsWith("Bearer "))
-                .body("refreshToken", notNullValue());
+    private void validateUserCreationResponse(AuthResponse auth, User user) {
+        this.accessToken = auth.getAccessToken();
 
-        String accessTokenValue = response.path("accessToken");
-        this.accessToken = accessTokenValue;
+        assertThat(auth.isSuccess(), equalTo(true));
+        assertThat(auth.getUser().getEmail(), equalTo(user.getEmail()));
+        assertThat(auth.getUser().getName(), equalTo(user.getName()));
+        assertThat(auth.getAccessToken(), startsWith("Bearer "));
+        assertThat(auth.getRefreshToken(), notNullValue());
     }
 
     @Step("Валидация ошибки дублирующей регистрации")
     private void validateDuplicateRegistrationError() {
         User duplicateUser = new User(testEmail, "12345", "Roms");
-        Response duplicateResponse = apiClient.createUser(duplicateUser);
+        ApiResult<AuthResponse> duplicateResult = apiClient.createUser(duplicateUser);
 
-        duplicateResponse.then()
-                .body("success", equalTo(false))
-                .body("message", equalTo("User already exists"))
-                .body("accessToken", nullValue())
-                .body("refreshToken", nullValue())
-                .body("user", nullValue());
+        validateDuplicateUserResponse(duplicateResult);
     }
 
     @Step("Валидация ответа при ошибке обязательных полей")
-    private void validateRequiredFieldsError(Response response) {
-        response.then()
-                .body("success", equalTo(false))
-                .body("message", equalTo("Email, password and name are required fields"));
+    private void validateRequiredFieldsError(ApiResult<AuthResponse> result) {
+        ErrorResponse error = result.error();
+        assertThat(error.isSuccess(), equalTo(false));
+        assertThat(error.getMessage(), equalTo("Email, password and name are required fields"));
     }
 
     @Step("Валидация ответа при ошибке обязательных полей")
@@ -227,10 +221,12 @@ public class UserRegistrationTest {
     }
 
     @Step("Валидация ответа при дублировании пользователя")
-    private void validateDuplicateUserResponse(Response response) {
-        response.then()
-                .body("success", equalTo(false))
-                .body("message", equalTo("User already exists"))
+    private void validateDuplicateUserResponse(ApiResult<AuthResponse> result) {
+        ErrorResponse error = result.error();
+        assertThat(error.isSuccess(), equalTo(false));
+        assertThat(error.getMessage(), equalTo("User already exists"));
+        // Ошибка не должна выдавать токены и данные пользователя: проверяем сырой ответ, его видно и в Allure
+        result.getResponse().then()
                 .body("accessToken", nullValue())
                 .body("refreshToken", nullValue())
                 .body("user", nullValue());
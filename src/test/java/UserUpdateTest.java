@@ -1,37 +1,42 @@
-import client.ApiClient;
+import client.ApiResult;
+import client.TypedApiClient;
 import io.qameta.allure.Step;
-import io.restassured.response.Response;
+import model.AuthResponse;
+import model.ErrorResponse;
 import model.User;
 import model.UserCredentials;
+import model.UserProfile;
+import model.UserResponse;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 @DisplayName("API тесты для обновления данных пользователя")
 public class UserUpdateTest {
-    private ApiClient apiClient;
+    private TypedApiClient apiClient;
     private User testUser;
     private String testEmail;
     private String accessToken;
 
     @BeforeEach
     public void setUp() {
-        apiClient = new ApiClient();
+        apiClient = new TypedApiClient();
         String timestamp = String.valueOf(System.currentTimeMillis());
         testEmail = "romatest-" + timestamp + "@yandex.ru"; // Уникальный email для каждого запуска
         testUser = new User(testEmail, "12345", "Roms");
 
-        Response createResponse = apiClient.createUser(testUser);
-        assertEquals(200, createResponse.statusCode(), "Не удалось создать тестового пользователя");
+        ApiResult<AuthResponse> createResult = apiClient.createUser(testUser);
+        assertEquals(200, createResult.statusCode(), "Не удалось создать тестового пользователя");
 
         UserCredentials credentials = new UserCredentials(testEmail, "12345");
-        Response loginResponse = apiClient.loginUser(credentials);
-        accessToken = loginResponse.body().jsonPath().getString("accessToken");
+        ApiResult<AuthResponse> loginResult = apiClient.loginUser(credentials);
+        accessToken = loginResult.body().getAccessToken();
         assertNotNull(accessToken, "Access token не должен быть null");
     }
 
@@ -43,10 +48,10 @@ public class UserUpdateTest {
         User updateData = new User(newEmail, "12345", "Roms");
 
         // Act
-        Response response = apiClient.updateUser(accessToken, updateData);
+        ApiResult<UserResponse> result = apiClient.updateUser(accessToken, updateData);
 
         // Assert
-        verifySuccessUpdate(response, newEmail, "Roms");
+        verifySuccessUpdate(result, newEmail, "Roms");
     }
 
     @Test
@@ -55,9 +60,9 @@ public class UserUpdateTest {
         String newName = "Roms" + System.currentTimeMillis();
         User updateData = new User(testEmail, "12345", newName);
 
-        Response response = apiClient.updateUser(accessToken, updateData);
+        ApiResult<UserResponse> result = apiClient.updateUser(accessToken, updateData);
 
-        verifySuccessUpdate(response, testEmail, newName);
+        verifySuccessUpdate(result, testEmail, newName);
     }
 
     @Test
@@ -66,9 +71,9 @@ public class UserUpdateTest {
         String newPassword = "newPass12345";
         User updateData = new User(testEmail, newPassword, "Roms");
 
-        Response response = apiClient.updateUser(accessToken, updateData);
+        ApiResult<UserResponse> result = apiClient.updateUser(accessToken, updateData);
 
-        verifySuccessUpdate(response, testEmail, "Roms");
+        verifySuccessUpdate(result, testEmail, "Roms");
     }
 
     @Test
@@ -79,9 +84,9 @@ public class UserUpdateTest {
         String newName = "New_Roms";
         User updateData = new User(newEmail, newPassword, newName);
 
-        Response response = apiClient.updateUser(accessToken, updateData);
+        ApiResult<UserResponse> result = apiClient.updateUser(accessToken, updateData);
 
-        verifySuccessUpdate(response, newEmail, newName);
+        verifySuccessUpdate(result, newEmail, newName);
     }
 
     @Test
@@ -90,32 +95,33 @@ public class UserUpdateTest {
         String newEmail = "no-auth-update-roma" + System.currentTimeMillis() + "@yandex.ru";
         User updateData = new User(newEmail, "12345", "Roma");
 
-        Response response = apiClient.updateUser("", updateData);
+        ApiResult<UserResponse> result = apiClient.updateUser("", updateData);
 
-        verifyNoAuthResponse(response);
+        verifyNoAuthResponse(result);
     }
 
 
     @Step("Проверка успешного обновления данных")
-    private void verifySuccessUpdate(Response response, String expectedEmail, String expectedName) {
+    private void verifySuccessUpdate(ApiResult<UserResponse> result, String expectedEmail, String expectedName) {
 
-        assertEquals(200, response.statusCode(),
+        assertEquals(200, result.statusCode(),
                 "Обновление данных пользователя должно быть успешным");
 
-        response.then()
-                .body("success", equalTo(true))
-                .body("user.email", equalTo(expectedEmail))
-                .body("user.name", equalTo(expectedName));
+        UserResponse body = result.body();
+        UserProfile user = body.getUser();
+        assertThat(body.isSuccess(), equalTo(true));
+        assertThat(user.getEmail(), equalTo(expectedEmail));
+        assertThat(user.getName(), equalTo(expectedName));
     }
 
     @Step("Проверка ответа при отсутствии авторизации")
-    private void verifyNoAuthResponse(Response response) {
-        assertEquals(401, response.statusCode(),
+    private void verifyNoAuthResponse(ApiResult<UserResponse> result) {
+        assertEquals(401, result.statusCode(),
                 "Без авторизации должен возвращаться код 401");
 
-        response.then()
-                .body("success", equalTo(false))
-                .body("message", equalTo("You should be authorised"));
+        ErrorResponse error = result.error();
+        assertThat(error.isSuccess(), equalTo(false));
+        assertThat(error.getMessage(), equalTo("You should be authorised"));
     }
 
     @Test
@@ -125,20 +131,20 @@ public class UserUpdateTest {
         // Создаем второго пользователя
         String secondUserEmail = "second-romatest" + System.currentTimeMillis() + "@yandex.ru";
         User secondUser = new User(secondUserEmail, "12345", "SecondRoma");
-        Response createResponse = apiClient.createUser(secondUser);
-        assertEquals(200, createResponse.statusCode(), "Не удалось создать второго пользователя");
+        ApiResult<AuthResponse> createResult = apiClient.createUser(secondUser);
+        assertEquals(200, createResult.statusCode(), "Не удалось создать второго пользователя");
 
         // Пытаемся обновить email пользователя 1 на email пользователя 2
         User updateData = new User(secondUserEmail, "12345", "SecondRoma");
 
-        Response response = apiClient.updateUser(accessToken, updateData);
+        ApiResult<UserResponse> result = apiClient.updateUser(accessToken, updateData);
 
-        assertEquals(403, response.statusCode(),
+        assertEquals(403, result.statusCode(),
                 "При обновлении на существующий email должен возвращаться код 403");
 
-        response.then()
-                .body("success", equalTo(false))
-                .body("message", equalTo("User with such email already exists"));
+        ErrorResponse error = result.error();
+        assertThat(error.isSuccess(), equalTo(false));
+        assertThat(error.getMessage(), equalTo("User with such email already exists"));
     }
 
 
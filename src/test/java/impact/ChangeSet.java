@@ -0,0 +1,185 @@
+package impact;
+
+import sharding.ShardFilter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Изменения относительно коммита записи, переведённые в термины записей влияния.
+// Точно сопоставляются только классы model, методы эндпоинтов ApiClient и тестовые классы (с тестовыми методами);
+// любое другое изменение в src/ или pom.xml, включая вспомогательный тестовый код, означает полный прогон
+public final class ChangeSet {
+
+    public static final String API_CLIENT = "src/main/java/client/ApiClient.java";
+
+    private static final String MAIN_SOURCES = "src/main/java/";
+    private static final String TEST_SOURCES = "src/test/java/";
+    private static final String MODEL_SOURCES = MAIN_SOURCES + "model/";
+    private static final Pattern HUNK = Pattern.compile("^@@ -\\d+(?:,\\d+)? \\+(\\d+)(?:,(\\d+))? @@");
+    private static final Pattern ENDPOINT = Pattern.compile("^\\s+public Response (\\w+)\\(");
+
+    private final String fullRunReason;
+    private final Set<String> operations = new HashSet<>();
+    private final Set<String> models = new HashSet<>();
+    private final Set<String> testClasses = new HashSet<>();
+
+    private ChangeSet(String fullRunReason) {
+        this.fullRunReason = fullRunReason;
+    }
+
+    static ChangeSet fullRun(String reason) {
+        return new ChangeSet(reason);
+    }
+
+    // Изменения рабочего дерева (в том числе незакоммиченные и новые файлы) относительно commit
+    static ChangeSet since(String commit) throws IOException {
+        List<String> changed = new ArrayList<>(Git.run("diff", "--relative", "--name-only", commit));
+        changed.addAll(Git.run("ls-files", "--others", "--exclude-standard"));
+        List<String> apiClientDiff = changed.contains(API_CLIENT)
+                ? Git.run("diff", "--relative", "-U0", commit, "--", API_CLIENT)
+                : List.of();
+        Path apiClient = Paths.get(API_CLIENT);
+        List<String> apiClientSource = Files.exists(apiClient) ? Files.readAllLines(apiClient) : null;
+        return classify(changed, apiClientDiff, apiClientSource);
+    }
+
+    // apiClientSource - текущий текст ApiClient, null если файл удалён
+    public static ChangeSet classify(List<String> changedPaths, List<String> apiClientDiff, List<String> apiClientSource) {
+        ChangeSet changes = new ChangeSet(null);
+        for (String path : changedPaths) {
+            String reason = changes.add(path, apiClientDiff, apiClientSource);
+            if (reason != null) {
+                return fullRun(reason);
+            }
+        }
+        return changes;
+    }
+
+    // null - изменение учтено, иначе причина полного прогона
+    private String add(String path, List<String> apiClientDiff, List<String> apiClientSource) {
+        if (path.startsWith(MODEL_SOURCES) && path.endsWith(".java") && path.indexOf('/', MODEL_SOURCES.length()) < 0) {
+            models.add("model." + className(path.substring(MODEL_SOURCES.length())));
+            return null;
+        }
+        if (path.equals(API_CLIENT)) {
+            return apiClientSource == null ? "удалён " + path : addApiClientOperations(apiClientDiff, apiClientSource);
+        }
+        if (path.startsWith(TEST_SOURCES) && path.endsWith(".java")) {
+            String testClass = className(path.substring(TEST_SOURCES.length())).replace('/', '.');
+            // Имя по шаблону surefire ещё не делает класс тестовым: impact.TestImpactRecorder - вспомогательный код
+            if (ShardFilter.isTestClass(testClass)) {
+                testClasses.add(testClass);
+                return null;
+            }
+            return "изменён вспомогательный тестовый код " + path;
+        }
+        if (path.startsWith("src/") || path.equals("pom.xml")) {
+            return "изменён " + path;
+        }
+        return null;
+    }
+
+    private String addApiClientOperations(List<String> diff, List<String> source) {
+        String[] methodByLine = endpointMethodByLine(source);
+        for (String line : diff) {
+            Matcher hunk = HUNK.matcher(line);
+            if (!hunk.find()) {
+                continue;
+            }
+            int start = Integer.parseInt(hunk.group(1));
+            int count = hunk.group(2) == null ? 1 : Integer.parseInt(hunk.group(2));
+            // Удаление без добавленных строк стоит между строками start и start + 1, обе должны быть в одном методе
+            int to = count == 0 ? start + 1 : start + count - 1;
+            String method = null;
+            for (int lineNumber = start; lineNumber <= to; lineNumber++) {
+                String lineMethod = lineNumber >= 1 && lineNumber <= source.size() ? methodByLine[lineNumber - 1] : null;
+                if (lineMethod == null || method != null && count == 0 && !method.equals(lineMethod)) {
+                    return "изменён ApiClient вне методов эндпоинтов (строка " + lineNumber + ")";
+                }
+                method = lineMethod;
+                operations.add(lineMethod);
+            }
+        }
+        return null;
+    }
+
+    // Строка исходника -> метод эндпоинта, которому она принадлежит (вместе с комментарием над ним)
+    static String[] endpointMethodByLine(List<String> source) {
+        String[] methodByLine = new String[source.size()];
+        for (int i = 0; i < source.size(); i++) {
+            Matcher endpoint = ENDPOINT.matcher(source.get(i));
+            if (!endpoint.find()) {
+                continue;
+            }
+            int start = i;
+            while (start > 0 && source.get(start - 1).trim().startsWith("//")) {
+                start--;
+            }
+            int end = i;
+            int depth = 0;
+            boolean opened = false;
+            for (; end < source.size(); end++) {
+                for (char c : source.get(end).toCharArray()) {
+                    if (c == '{') {
+                        depth++;
+                        opened = true;
+                    } else if (c == '}') {
+                        depth--;
+                    }
+                }
+                if (opened && depth == 0) {
+                    break;
+                }
+            }
+            for (int line = start; line <= end && line < source.size(); line++) {
+                methodByLine[line] = endpoint.group(1);
+            }
+        }
+        return methodByLine;
+    }
+
+    private static String className(String relativePath) {
+        return relativePath.substring(0, relativePath.length() - ".java".length());
+    }
+
+    public boolean isFullRun() {
+        return fullRunReason != null;
+    }
+
+    public String getFullRunReason() {
+        return fullRunReason;
+    }
+
+    public boolean affects(String testClass, TestImpact impact) {
+        if (isFullRun() || testClasses.contains(testClass)) {
+            return true;
+        }
+        for (String operation : impact.getOperations()) {
+            if (operations.contains(operation)) {
+                return true;
+            }
+        }
+        for (String model : impact.getModels()) {
+            if (models.contains(model)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        if (isFullRun()) {
+            return "полный прогон: " + fullRunReason;
+        }
+        return "операции " + operations + ", модели " + models + ", тестовые классы " + testClasses;
+    }
+}
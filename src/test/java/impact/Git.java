@@ -0,0 +1,57 @@
+package impact;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Вызов git из рабочего каталога прогона (корень проекта у surefire)
+final class Git {
+
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private Git() {
+    }
+
+    static List<String> run(String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+        String output;
+        try (InputStream in = process.getInputStream()) {
+            output = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try {
+            if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("git " + String.join(" ", args) + " не завершился за " + TIMEOUT_SECONDS + " с");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("git прерван", e);
+        }
+        if (process.exitValue() != 0) {
+            throw new IOException("git " + String.join(" ", args) + " завершился с кодом " + process.exitValue());
+        }
+        List<String> lines = new ArrayList<>();
+        for (String line : output.split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    // null, если проект не в git или git не установлен
+    static String head() {
+        try {
+            List<String> lines = run("rev-parse", "HEAD");
+            return lines.isEmpty() ? null : lines.get(0);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
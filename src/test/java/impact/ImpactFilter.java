@@ -0,0 +1,96 @@
+package impact;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+// Оставляет в прогоне только тесты, затронутые изменениями с момента их последней записи:
+// mvn test -Pimpact (или -Dimpact.select=true). Без записей, без git или при изменениях,
+// которые нельзя сопоставить с записями, запускается всё. Новые тесты без записей и тесты,
+// упавшие при последней записи, запускаются всегда. Почему тест выбран или снят, видно в причине FilterResult
+public class ImpactFilter implements PostDiscoveryFilter {
+
+    private final Function<String, ChangeSet> changesSince;
+    private volatile Map<String, Map<String, TestImpact>> records;
+    private volatile String readError;
+    private final Map<String, ChangeSet> changesByCommit = new HashMap<>();
+
+    public ImpactFilter() {
+        this(ImpactFilter::gitChangesSince);
+    }
+
+    // changesSince: коммит записи -> изменения рабочего дерева с него
+    public ImpactFilter(Function<String, ChangeSet> changesSince) {
+        this.changesSince = changesSince;
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (!Boolean.getBoolean("impact.select")) {
+            return FilterResult.included("выбор по влиянию выключен");
+        }
+        TestSource source = descriptor.getSource().orElse(null);
+        if (!(source instanceof MethodSource)) {
+            return FilterResult.included("не тестовый метод");
+        }
+        MethodSource method = (MethodSource) source;
+        Map<String, TestImpact> classRecords = records().get(method.getClassName());
+        if (classRecords == null) {
+            return FilterResult.included(readError != null
+                    ? "записи влияния не прочитаны, полный прогон: " + readError
+                    : "нет записей для класса в " + ImpactStore.directory());
+        }
+        TestImpact testRecord = classRecords.get(method.getMethodName());
+        if (testRecord == null) {
+            return FilterResult.included("нет записи для теста");
+        }
+        TestImpact classLevel = classRecords.get(ImpactStore.CLASS_LEVEL);
+        if (testRecord.isFailed() || classLevel != null && classLevel.isFailed()) {
+            return FilterResult.included("упал при последней записи");
+        }
+        ChangeSet changes = changesSince(testRecord.getCommit());
+        boolean affected = changes.affects(method.getClassName(), testRecord)
+                || classLevel != null && changesSince(classLevel.getCommit()).affects(method.getClassName(), classLevel);
+        return FilterResult.includedIf(affected, () -> "затронут изменениями: " + changes, () -> "не затронут изменениями: " + changes);
+    }
+
+    private Map<String, Map<String, TestImpact>> records() {
+        Map<String, Map<String, TestImpact>> loaded = records;
+        if (loaded == null) {
+            synchronized (this) {
+                if (records == null) {
+                    try {
+                        records = ImpactStore.readAll(ImpactStore.directory());
+                    } catch (IOException e) {
+                        readError = e.getMessage();
+                        records = Map.of();
+                    }
+                }
+                loaded = records;
+            }
+        }
+        return loaded;
+    }
+
+    private synchronized ChangeSet changesSince(String commit) {
+        return changesByCommit.computeIfAbsent(String.valueOf(commit), key -> changesSince.apply(commit));
+    }
+
+    private static ChangeSet gitChangesSince(String commit) {
+        if (commit == null) {
+            return ChangeSet.fullRun("запись сделана без git");
+        }
+        try {
+            return ChangeSet.since(commit);
+        } catch (IOException e) {
+            return ChangeSet.fullRun(e.getMessage());
+        }
+    }
+}
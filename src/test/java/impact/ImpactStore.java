@@ -0,0 +1,73 @@
+package impact;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+// Записи влияния лежат по файлу на тестовый класс: <каталог>/<класс>.json, внутри - тест -> TestImpact.
+// Каталог задаётся -Dimpact.dir, по умолчанию target/test-impact
+final class ImpactStore {
+
+    // Ключ для вызовов из @BeforeAll/@AfterAll: они влияют на все тесты класса
+    static final String CLASS_LEVEL = "";
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Type TESTS_TYPE = new TypeToken<Map<String, TestImpact>>() {
+    }.getType();
+
+    private ImpactStore() {
+    }
+
+    static Path directory() {
+        return Paths.get(System.getProperty("impact.dir", "target/test-impact"));
+    }
+
+    // Тестовый класс -> его тесты
+    static Map<String, Map<String, TestImpact>> readAll(Path directory) throws IOException {
+        Map<String, Map<String, TestImpact>> result = new HashMap<>();
+        if (!Files.isDirectory(directory)) {
+            return result;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files.filter(path -> path.toString().endsWith(".json"))::iterator) {
+                String name = file.getFileName().toString();
+                result.put(name.substring(0, name.length() - ".json".length()), readFile(file));
+            }
+        }
+        return result;
+    }
+
+    static Map<String, TestImpact> read(Path directory, String testClass) throws IOException {
+        Path file = directory.resolve(testClass + ".json");
+        return Files.exists(file) ? readFile(file) : new HashMap<>();
+    }
+
+    private static Map<String, TestImpact> readFile(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Map<String, TestImpact> tests = GSON.fromJson(reader, TESTS_TYPE);
+            return tests == null ? new HashMap<>() : tests;
+        }
+    }
+
+    // Файл подменяется атомарно, параллельные форки surefire не увидят его недописанным
+    static void write(Path directory, String testClass, Map<String, TestImpact> tests) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve(testClass + ".json");
+        Path temp = Files.createTempFile(directory, testClass, ".tmp");
+        Files.write(temp, GSON.toJson(new TreeMap<>(tests), TESTS_TYPE).getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,42 @@
+package impact;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+// Что затронул один тест при последнем прогоне: операции ApiClient и классы model
+public class TestImpact {
+
+    private final String commit;
+    private final Set<String> operations;
+    private final Set<String> models;
+    private final boolean failed;
+
+    public TestImpact(String commit, Set<String> operations, Set<String> models) {
+        this(commit, operations, models, false);
+    }
+
+    public TestImpact(String commit, Set<String> operations, Set<String> models, boolean failed) {
+        this.commit = commit;
+        this.operations = new TreeSet<>(operations);
+        this.models = new TreeSet<>(models);
+        this.failed = failed;
+    }
+
+    // Коммит, на котором сделана запись; null - git был недоступен
+    public String getCommit() {
+        return commit;
+    }
+
+    public Set<String> getOperations() {
+        return operations;
+    }
+
+    public Set<String> getModels() {
+        return models;
+    }
+
+    // Тест упал при записи: он выбирается в каждый прогон, пока не пройдёт, даже без изменений в коде
+    public boolean isFailed() {
+        return failed;
+    }
+}
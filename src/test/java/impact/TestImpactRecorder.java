@@ -0,0 +1,216 @@
+package impact;
+
+import client.ApiCallContext;
+import client.ApiCallObserver;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Записывает, какие операции ApiClient и классы model затронул каждый тест (подключается автоматически).
+// Модели берутся из тел запросов и разобранных ответов вместе с моделями в их полях, а на уровне класса -
+// из ссылок байткода тестового класса: модель, которую тест только создаёт или сравнивает, тоже его затрагивает.
+// Вызовы из других потоков теста (нагрузка, пулы) приписываются текущему тесту: тесты идут последовательно
+public class TestImpactRecorder implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback, AfterAllCallback, ApiCallObserver {
+
+    private static final String MODEL_PACKAGE = "model";
+    private static final String COMMIT = Git.head();
+    // Внутреннее имя класса model в пуле констант: model/User, Lmodel/User; в дескрипторе, model/OrderResponse$Order
+    private static final Pattern MODEL_REFERENCE = Pattern.compile("(?<![\\w/$])L?" + MODEL_PACKAGE + "/([\\w$]+)");
+
+    private final Map<String, Map<String, Usage>> usageByClass = new ConcurrentHashMap<>();
+    private volatile Usage current;
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        ApiCallContext.setObserver(this);
+        current = usage(context.getRequiredTestClass().getName(), ImpactStore.CLASS_LEVEL);
+        try {
+            current.models.addAll(referencedModels(context.getRequiredTestClass()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать байткод " + context.getRequiredTestClass().getName(), e);
+        }
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        current = usage(context.getRequiredTestClass().getName(), context.getRequiredTestMethod().getName());
+    }
+
+    // Упавший тест помечается: иначе запись на HEAD без последующих изменений сняла бы его с прогона
+    @Override
+    public void afterEach(ExtensionContext context) {
+        if (context.getExecutionException().isPresent()) {
+            current.failed = true;
+        }
+        current = usage(context.getRequiredTestClass().getName(), ImpactStore.CLASS_LEVEL);
+    }
+
+    // Тесты, не попавшие в этот прогон, сохраняют прежние записи
+    @Override
+    public void afterAll(ExtensionContext context) {
+        String testClass = context.getRequiredTestClass().getName();
+        if (context.getExecutionException().isPresent()) {
+            usage(testClass, ImpactStore.CLASS_LEVEL).failed = true;
+        }
+        current = null;
+        Map<String, Usage> usages = usageByClass.remove(testClass);
+        if (usages == null) {
+            return;
+        }
+        try {
+            Map<String, TestImpact> tests = ImpactStore.read(ImpactStore.directory(), testClass);
+            usages.forEach((test, usage) -> tests.put(test, new TestImpact(COMMIT, usage.operations, usage.models, usage.failed)));
+            ImpactStore.write(ImpactStore.directory(), testClass, tests);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось записать влияние тестов " + testClass, e);
+        }
+    }
+
+    private Usage usage(String testClass, String test) {
+        return usageByClass.computeIfAbsent(testClass, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(test, key -> new Usage());
+    }
+
+    @Override
+    public void apiCall(String operation, Object requestBody) {
+        Usage usage = current;
+        if (usage == null) {
+            return;
+        }
+        usage.operations.add(operation);
+        if (requestBody != null) {
+            collectModels(requestBody.getClass(), usage.models, new HashSet<>());
+        }
+    }
+
+    @Override
+    public void modelDecoded(Class<?> modelClass) {
+        Usage usage = current;
+        if (usage != null) {
+            collectModels(modelClass, usage.models, new HashSet<>());
+        }
+    }
+
+    // Модель и все модели в её полях; вложенные классы записываются именем файла, в котором объявлены
+    public static void collectModels(Type type, Set<String> models, Set<Class<?>> visited) {
+        if (type instanceof ParameterizedType) {
+            collectModels(((ParameterizedType) type).getRawType(), models, visited);
+            for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                collectModels(argument, models, visited);
+            }
+            return;
+        }
+        if (!(type instanceof Class)) {
+            return;
+        }
+        Class<?> modelClass = (Class<?>) type;
+        if (modelClass.isArray()) {
+            collectModels(modelClass.getComponentType(), models, visited);
+            return;
+        }
+        if (!MODEL_PACKAGE.equals(modelClass.getPackageName()) || !visited.add(modelClass)) {
+            return;
+        }
+        Class<?> topLevel = modelClass;
+        while (topLevel.getEnclosingClass() != null) {
+            topLevel = topLevel.getEnclosingClass();
+        }
+        models.add(topLevel.getName());
+        for (Field field : modelClass.getDeclaredFields()) {
+            collectModels(field.getGenericType(), models, visited);
+        }
+    }
+
+    // Модели, на которые ссылается байткод класса и его вложенных классов (типы, вызовы, сигнатуры, литералы класса),
+    // вместе с моделями в их полях. Анонимные классы и лямбды в отдельных файлах не просматриваются
+    public static Set<String> referencedModels(Class<?> testClass) throws IOException {
+        Set<String> models = new HashSet<>();
+        Set<Class<?>> visited = new HashSet<>();
+        collectReferencedModels(testClass, models, visited);
+        return models;
+    }
+
+    private static void collectReferencedModels(Class<?> type, Set<String> models, Set<Class<?>> visited) throws IOException {
+        String resource = "/" + type.getName().replace('.', '/') + ".class";
+        try (InputStream in = type.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Нет файла класса " + resource);
+            }
+            for (String constant : utf8Constants(new DataInputStream(new BufferedInputStream(in)))) {
+                Matcher reference = MODEL_REFERENCE.matcher(constant);
+                while (reference.find()) {
+                    try {
+                        Class<?> model = Class.forName(MODEL_PACKAGE + "." + reference.group(1), false, type.getClassLoader());
+                        collectModels(model, models, visited);
+                    } catch (ClassNotFoundException e) {
+                        // строковая константа, похожая на имя модели, но не класс
+                    }
+                }
+            }
+        }
+        for (Class<?> nested : type.getDeclaredClasses()) {
+            collectReferencedModels(nested, models, visited);
+        }
+    }
+
+    // Строки UTF-8 из пула констант class-файла: имена классов, дескрипторы и сигнатуры методов и полей
+    private static List<String> utf8Constants(DataInputStream in) throws IOException {
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("Не class-файл");
+        }
+        in.readUnsignedShort();
+        in.readUnsignedShort();
+        int count = in.readUnsignedShort();
+        List<String> constants = new ArrayList<>();
+        for (int index = 1; index < count; index++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1:
+                    constants.add(in.readUTF());
+                    break;
+                case 7: case 8: case 16: case 19: case 20:
+                    in.readFully(new byte[2]);
+                    break;
+                case 15:
+                    in.readFully(new byte[3]);
+                    break;
+                case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                    in.readFully(new byte[4]);
+                    break;
+                case 5: case 6:
+                    // long и double занимают два слота пула
+                    in.readFully(new byte[8]);
+                    index++;
+                    break;
+                default:
+                    throw new IOException("Неизвестный тег пула констант " + tag);
+            }
+        }
+        return constants;
+    }
+
+    private static class Usage {
+        private final Set<String> operations = ConcurrentHashMap.newKeySet();
+        private final Set<String> models = ConcurrentHashMap.newKeySet();
+        private volatile boolean failed;
+    }
+}
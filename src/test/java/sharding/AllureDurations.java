@@ -0,0 +1,89 @@
+package sharding;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Длительности тестовых классов по истории Allure: для каждого теста берётся последний прогон,
+// длительности тестов суммируются по классу. Тест - это historyId Allure: у вызовов параметризованного
+// теста fullName общий, и по нему они схлопнулись бы в один вызов, занижая вес класса
+public final class AllureDurations {
+
+    private AllureDurations() {
+    }
+
+    public static Map<String, Long> read(List<Path> resultDirectories) throws IOException {
+        Map<String, long[]> latestByTest = new HashMap<>();
+        Map<String, String> classByTest = new HashMap<>();
+        for (Path directory : resultDirectories) {
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+            try (DirectoryStream<Path> results = Files.newDirectoryStream(directory, "*-result.json")) {
+                for (Path result : results) {
+                    readResult(result, latestByTest, classByTest);
+                }
+            }
+        }
+
+        Map<String, Long> durations = new HashMap<>();
+        for (Map.Entry<String, long[]> test : latestByTest.entrySet()) {
+            long[] startStop = test.getValue();
+            durations.merge(classByTest.get(test.getKey()), Math.max(0, startStop[1] - startStop[0]), Long::sum);
+        }
+        return durations;
+    }
+
+    private static void readResult(Path file, Map<String, long[]> latestByTest, Map<String, String> classByTest) throws IOException {
+        JsonObject result;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JsonElement element = JsonParser.parseReader(reader);
+            if (!element.isJsonObject()) {
+                return;
+            }
+            result = element.getAsJsonObject();
+        } catch (RuntimeException e) {
+            // недописанный или чужой файл не должен ломать планирование
+            return;
+        }
+        String testClass = label(result, "testClass");
+        if (testClass == null || !result.has("fullName") || !result.has("start") || !result.has("stop")) {
+            return;
+        }
+        String test = result.has("historyId")
+                ? result.get("historyId").getAsString()
+                : result.get("fullName").getAsString() + result.getAsJsonArray("parameters");
+        long start = result.get("start").getAsLong();
+        long stop = result.get("stop").getAsLong();
+        long[] latest = latestByTest.get(test);
+        if (latest == null || start > latest[0]) {
+            latestByTest.put(test, new long[]{start, stop});
+            classByTest.put(test, testClass);
+        }
+    }
+
+    private static String label(JsonObject result, String name) {
+        JsonArray labels = result.getAsJsonArray("labels");
+        if (labels == null) {
+            return null;
+        }
+        for (JsonElement label : labels) {
+            JsonObject object = label.getAsJsonObject();
+            if (name.equals(object.get("name").getAsString())) {
+                return object.get("value").getAsString();
+            }
+        }
+        return null;
+    }
+}
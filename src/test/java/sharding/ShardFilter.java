@@ -0,0 +1,152 @@
+package sharding;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.platform.commons.annotation.Testable;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Оставляет в прогоне только классы своего шарда: mvn test -Dshard.count=4 -Dshard.index=0..3.
+// Без shard.count фильтр ничего не отсекает. История берётся из -Dshard.allureResults
+// (по умолчанию allure-results в корне проекта). target/allure-results не читается: туда пишут
+// сами шарды, и план разъехался бы между JVM, стартовавшими в разное время
+public class ShardFilter implements PostDiscoveryFilter {
+
+    // Шаблоны имён, которые surefire запускает по умолчанию
+    public static final Pattern SUREFIRE_TEST_CLASS = Pattern.compile("(Test.*|.*Test|.*Tests|.*TestCase)");
+
+    private volatile Set<String> shardClasses;
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        String shardCount = System.getProperty("shard.count");
+        if (shardCount == null || shardCount.isBlank()) {
+            return FilterResult.included("шардирование выключено");
+        }
+        String testClass = testClass(descriptor);
+        if (testClass == null) {
+            return FilterResult.included("не тестовый класс");
+        }
+        String topLevelClass = testClass.contains("$") ? testClass.substring(0, testClass.indexOf('$')) : testClass;
+        return FilterResult.includedIf(shardClasses(Integer.parseInt(shardCount.trim())).contains(topLevelClass),
+                () -> "в шарде " + System.getProperty("shard.index"),
+                () -> "в другом шарде");
+    }
+
+    private Set<String> shardClasses(int shardCount) {
+        Set<String> classes = shardClasses;
+        if (classes == null) {
+            synchronized (this) {
+                if (shardClasses == null) {
+                    shardClasses = planShard(shardCount);
+                }
+                classes = shardClasses;
+            }
+        }
+        return classes;
+    }
+
+    private static Set<String> planShard(int shardCount) {
+        int shardIndex = Integer.getInteger("shard.index", 0);
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("shard.index должен быть от 0 до " + (shardCount - 1) + ", получено " + shardIndex);
+        }
+        try {
+            Map<String, Long> durations = AllureDurations.read(allureResultDirectories());
+            List<List<String>> plan = ShardPlanner.plan(testClasses(), durations, shardCount);
+            return new HashSet<>(plan.get(shardIndex));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось спланировать шарды", e);
+        }
+    }
+
+    private static List<Path> allureResultDirectories() {
+        String configured = System.getProperty("shard.allureResults");
+        if (configured != null && !configured.isBlank()) {
+            return Stream.of(configured.split(",")).map(String::trim).map(Paths::get).collect(Collectors.toList());
+        }
+        return List.of(Paths.get("allure-results"));
+    }
+
+    // Полный список тестовых классов берётся из скомпилированных тестов, а не из истории,
+    // чтобы новые классы тоже попадали в какой-нибудь шард
+    private static List<String> testClasses() throws IOException {
+        Path root;
+        try {
+            root = Paths.get(ShardFilter.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            return files
+                    .map(root::relativize)
+                    .map(Path::toString)
+                    .filter(name -> name.endsWith(".class") && !name.contains("$"))
+                    .map(name -> name.substring(0, name.length() - ".class".length()).replace('/', '.').replace('\\', '.'))
+                    .filter(ShardFilter::isTestClass)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // Класс, который surefire запустит: имя по шаблону и хотя бы один тестовый метод (@Test, @ParameterizedTest...)
+    // в нём, его предках или @Nested-классах. Вспомогательные классы вроде impact.TestImpact сюда не попадают
+    public static boolean isTestClass(String className) {
+        if (!SUREFIRE_TEST_CLASS.matcher(className.substring(className.lastIndexOf('.') + 1)).matches()) {
+            return false;
+        }
+        try {
+            return declaresTests(Class.forName(className, false, ShardFilter.class.getClassLoader()));
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static boolean declaresTests(Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                for (Annotation annotation : method.getAnnotations()) {
+                    if (annotation.annotationType().isAnnotationPresent(Testable.class)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        for (Class<?> nested : type.getDeclaredClasses()) {
+            if (nested.isAnnotationPresent(Nested.class) && declaresTests(nested)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String testClass(TestDescriptor descriptor) {
+        TestSource source = descriptor.getSource().orElse(null);
+        if (source instanceof ClassSource) {
+            return ((ClassSource) source).getClassName();
+        }
+        if (source instanceof MethodSource) {
+            return ((MethodSource) source).getClassName();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,51 @@
+package sharding;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Раскладка тестовых классов по шардам жадной упаковкой: самые долгие классы первыми,
+// каждый - в наименее загруженный шард. Результат детерминирован, все машины получают один план
+public final class ShardPlanner {
+
+    private ShardPlanner() {
+    }
+
+    public static List<List<String>> plan(Collection<String> testClasses, Map<String, Long> durations, int shardCount) {
+        long known = 0;
+        int knownCount = 0;
+        for (String testClass : testClasses) {
+            Long duration = durations.get(testClass);
+            if (duration != null) {
+                known += duration;
+                knownCount++;
+            }
+        }
+        // Классы без истории считаются средними по длительности
+        long defaultDuration = knownCount == 0 ? 1 : Math.max(1, known / knownCount);
+
+        List<String> ordered = new ArrayList<>(testClasses);
+        ordered.sort(Comparator.<String>comparingLong(testClass -> durations.getOrDefault(testClass, defaultDuration))
+                .reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        List<List<String>> shards = new ArrayList<>();
+        long[] totals = new long[shardCount];
+        PriorityQueue<Integer> lightest = new PriorityQueue<>(
+                Comparator.<Integer>comparingLong(shard -> totals[shard]).thenComparingInt(shard -> shard));
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+            lightest.add(i);
+        }
+        for (String testClass : ordered) {
+            int shard = lightest.poll();
+            shards.get(shard).add(testClass);
+            totals[shard] += durations.getOrDefault(testClass, defaultDuration);
+            lightest.add(shard);
+        }
+        return shards;
+    }
+}
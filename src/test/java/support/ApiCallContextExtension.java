@@ -0,0 +1,20 @@
+package support;
+
+import client.ApiCallContext;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+// Подписывает вызовы ApiClient именем текущего теста (подключается автоматически)
+public class ApiCallContextExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        ApiCallContext.setScenario(context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        ApiCallContext.clear();
+    }
+}
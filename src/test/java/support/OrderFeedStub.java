@@ -0,0 +1,326 @@
+package support;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Локальная WebSocket-лента заказов поверх StellarBurgersStub: /orders/all и /orders?token=.
+// Реализован минимум RFC 6455: рукопожатие, текстовые кадры (с разбиением на фрагменты), ping и close
+public class OrderFeedStub implements AutoCloseable {
+
+    private static final String HANDSHAKE_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final int FEED_SIZE = 50;
+    private static final Gson GSON = new Gson();
+
+    private final StellarBurgersStub api;
+    private final ServerSocket serverSocket;
+    private final ExecutorService acceptor = Executors.newCachedThreadPool();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Deque<JsonObject> recentOrders = new ArrayDeque<>();
+    private final Map<String, List<JsonObject>> ordersByEmail = new ConcurrentHashMap<>();
+    private final AtomicLong sentMessages = new AtomicLong();
+    private volatile int fragmentSize = Integer.MAX_VALUE;
+    private volatile long publishDelayMillis;
+
+    public OrderFeedStub(StellarBurgersStub api) throws IOException {
+        this.api = api;
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        api.addOrderListener(this::publish);
+        acceptor.execute(this::acceptLoop);
+    }
+
+    public String feedUrl() {
+        return "ws://localhost:" + serverSocket.getLocalPort() + "/orders";
+    }
+
+    // Режет каждое сообщение на текстовые фрагменты указанного размера в символах
+    public void setFragmentSize(int fragmentSize) {
+        this.fragmentSize = fragmentSize;
+    }
+
+    // Искусственная задержка публикации заказа в ленте
+    public void setPublishDelay(Duration publishDelay) {
+        this.publishDelayMillis = publishDelay.toMillis();
+    }
+
+    public long sentMessages() {
+        return sentMessages.get();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                acceptor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            String target = handshake(in, socket.getOutputStream());
+            if (target == null) {
+                socket.close();
+                return;
+            }
+            Subscriber subscriber = new Subscriber(socket, subscriptionEmail(target));
+            if (!target.startsWith("/orders/all") && subscriber.email == null) {
+                JsonObject error = new JsonObject();
+                error.addProperty("success", false);
+                error.addProperty("message", "Invalid or missing token");
+                subscriber.send(GSON.toJson(error));
+                subscriber.close();
+                return;
+            }
+            synchronized (recentOrders) {
+                subscribers.add(subscriber);
+                subscriber.send(snapshot(subscriber.email));
+            }
+            readFrames(in, subscriber);
+        } catch (IOException e) {
+            // клиент отключился
+        }
+    }
+
+    private String subscriptionEmail(String target) {
+        int query = target.indexOf("?token=");
+        if (query < 0) {
+            return null;
+        }
+        String token = URLDecoder.decode(target.substring(query + "?token=".length()), StandardCharsets.UTF_8);
+        return api.emailForToken(token);
+    }
+
+    private static String handshake(DataInputStream in, OutputStream out) throws IOException {
+        String requestLine = readLine(in);
+        String key = null;
+        for (String line = readLine(in); !line.isEmpty(); line = readLine(in)) {
+            int colon = line.indexOf(':');
+            if (colon > 0 && line.substring(0, colon).trim().equalsIgnoreCase("Sec-WebSocket-Key")) {
+                key = line.substring(colon + 1).trim();
+            }
+        }
+        String[] parts = requestLine.split(" ");
+        if (key == null || parts.length < 2) {
+            out.write("HTTP/1.1 400 Bad Request\r\nContent-Length: 0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            return null;
+        }
+        String response = "HTTP/1.1 101 Switching Protocols\r\n"
+                + "Upgrade: websocket\r\n"
+                + "Connection: Upgrade\r\n"
+                + "Sec-WebSocket-Accept: " + acceptKey(key) + "\r\n\r\n";
+        out.write(response.getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return parts[1];
+    }
+
+    private static String acceptKey(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest((key + HANDSHAKE_GUID).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String readLine(DataInputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int b = in.read(); b != '\n'; b = in.read()) {
+            if (b < 0) {
+                throw new IOException("Соединение закрыто во время рукопожатия");
+            }
+            if (b != '\r') {
+                line.append((char) b);
+            }
+        }
+        return line.toString();
+    }
+
+    // Кадры клиента всегда маскированы; отвечаем на ping и close, остальное игнорируем
+    private void readFrames(DataInputStream in, Subscriber subscriber) throws IOException {
+        try {
+            while (true) {
+                int opcode = in.readUnsignedByte() & 0x0F;
+                int second = in.readUnsignedByte();
+                long length = second & 0x7F;
+                if (length == 126) {
+                    length = in.readUnsignedShort();
+                } else if (length == 127) {
+                    length = in.readLong();
+                }
+                byte[] mask = new byte[4];
+                if ((second & 0x80) != 0) {
+                    in.readFully(mask);
+                }
+                byte[] payload = new byte[(int) length];
+                in.readFully(payload);
+                for (int i = 0; i < payload.length; i++) {
+                    payload[i] ^= mask[i % 4];
+                }
+                if (opcode == 0x8) {
+                    subscriber.writeFrame(0x88, payload);
+                    return;
+                }
+                if (opcode == 0x9) {
+                    subscriber.writeFrame(0x8A, payload);
+                }
+            }
+        } finally {
+            subscriber.close();
+        }
+    }
+
+    private void publish(String email, JsonObject order) {
+        long delay = publishDelayMillis;
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        synchronized (recentOrders) {
+            recentOrders.addFirst(order);
+            if (recentOrders.size() > FEED_SIZE) {
+                recentOrders.removeLast();
+            }
+            if (email != null) {
+                ordersByEmail.computeIfAbsent(email, key -> new ArrayList<>()).add(order);
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.email == null || subscriber.email.equals(email)) {
+                    subscriber.send(snapshot(subscriber.email));
+                }
+            }
+        }
+    }
+
+    // Общая лента - последние 50 заказов от новых к старым, лента пользователя - все его заказы
+    private String snapshot(String email) {
+        JsonArray orders = new JsonArray();
+        if (email == null) {
+            recentOrders.forEach(orders::add);
+        } else {
+            ordersByEmail.getOrDefault(email, List.of()).forEach(orders::add);
+        }
+        JsonObject message = new JsonObject();
+        message.addProperty("success", true);
+        message.add("orders", orders);
+        message.addProperty("total", api.totalOrders());
+        message.addProperty("totalToday", api.totalOrders());
+        return GSON.toJson(message);
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // уже закрыт
+        }
+        subscribers.forEach(Subscriber::close);
+        acceptor.shutdownNow();
+    }
+
+    private class Subscriber {
+
+        private final Socket socket;
+        private final String email;
+        // Отдельный писатель на подписчика: медленный клиент не задерживает остальных и createOrder
+        private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-feed-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private Subscriber(Socket socket, String email) {
+            this.socket = socket;
+            this.email = email;
+        }
+
+        private void send(String message) {
+            writer.execute(() -> {
+                try {
+                    writeText(message);
+                    sentMessages.incrementAndGet();
+                } catch (IOException e) {
+                    close();
+                }
+            });
+        }
+
+        private void writeText(String message) throws IOException {
+            int size = fragmentSize;
+            int offset = 0;
+            do {
+                int end = (int) Math.min((long) offset + size, message.length());
+                boolean first = offset == 0;
+                boolean last = end == message.length();
+                int opcode = first ? 0x1 : 0x0;
+                writeFrame((last ? 0x80 : 0) | opcode, message.substring(offset, end).getBytes(StandardCharsets.UTF_8));
+                offset = end;
+            } while (offset < message.length());
+        }
+
+        // Кадры сервера не маскируются
+        private synchronized void writeFrame(int header, byte[] payload) throws IOException {
+            OutputStream out = socket.getOutputStream();
+            out.write(header);
+            if (payload.length < 126) {
+                out.write(payload.length);
+            } else if (payload.length <= 0xFFFF) {
+                out.write(126);
+                out.write(payload.length >>> 8);
+                out.write(payload.length);
+            } else {
+                out.write(127);
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    out.write((int) ((long) payload.length >>> shift));
+                }
+            }
+            out.write(payload);
+            out.flush();
+        }
+
+        private void close() {
+            subscribers.remove(this);
+            writer.shutdown();
+            try {
+                writer.awaitTermination(1, TimeUnit.SECONDS);
+                socket.close();
+            } catch (InterruptedException | IOException e) {
+                // закрываем как есть
+            }
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package support;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+// Локальная заглушка Stellar Burgers API для тестов, которым не нужен реальный стенд
+public class StellarBurgersStub implements AutoCloseable {
+
+    public static final String BUN_ID = "61c0c5a71d1f82001bdaaa6d";
+    public static final String SAUCE_ID = "61c0c5a71d1f82001bdaaa72";
+    public static final String MAIN_ID = "61c0c5a71d1f82001bdaaa6f";
+
+    private static final Gson GSON = new Gson();
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, JsonObject> usersByEmail = new ConcurrentHashMap<>();
+    private final Map<String, String> emailsByToken = new ConcurrentHashMap<>();
+    private final Map<String, List<JsonObject>> ordersByEmail = new ConcurrentHashMap<>();
+    private final AtomicLong orderSequence = new AtomicLong(10_000);
+    private final AtomicLong requestCount = new AtomicLong();
+    private final List<BiConsumer<String, JsonObject>> orderListeners = new CopyOnWriteArrayList<>();
+    private volatile LongSupplier orderNumbers = orderSequence::incrementAndGet;
+
+    public StellarBurgersStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    public long requestCount() {
+        return requestCount.get();
+    }
+
+    // Позволяет подменить выдачу номеров заказов, например, чтобы получить дубликаты
+    public void setOrderNumbers(LongSupplier orderNumbers) {
+        this.orderNumbers = orderNumbers;
+    }
+
+    // Слушатель созданных заказов получает email владельца (null для анонимного заказа) и сам заказ
+    public void addOrderListener(BiConsumer<String, JsonObject> listener) {
+        orderListeners.add(listener);
+    }
+
+    public String emailForToken(String token) {
+        return emailsByToken.get(token);
+    }
+
+    public long totalOrders() {
+        return orderSequence.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            String route = exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath();
+            switch (route) {
+                case "POST /api/auth/register":
+                    register(exchange);
+                    break;
+                case "POST /api/auth/login":
+                    login(exchange);
+                    break;
+                case "GET /api/auth/user":
+                case "PATCH /api/auth/user":
+                case "DELETE /api/auth/user":
+                    user(exchange);
+                    break;
+                case "GET /api/ingredients":
+                    ingredients(exchange);
+                    break;
+                case "POST /api/orders":
+                    createOrder(exchange);
+                    break;
+                case "GET /api/orders":
+                    userOrders(exchange);
+                    break;
+                default:
+                    error(exchange, 404, "Not found");
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void register(HttpExchange exchange) throws IOException {
+        JsonObject body = readJson(exchange);
+        String email = string(body, "email");
+        String password = string(body, "password");
+        String name = string(body, "name");
+        if (email.isEmpty() || password.isEmpty() || name.isEmpty()) {
+            error(exchange, 403, "Email, password and name are required fields");
+            return;
+        }
+        JsonObject user = new JsonObject();
+        user.addProperty("email", email);
+        user.addProperty("password", password);
+        user.addProperty("name", name);
+        if (usersByEmail.putIfAbsent(email, user) != null) {
+            error(exchange, 403, "User already exists");
+            return;
+        }
+        send(exchange, 200, authResponse(user));
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        JsonObject body = readJson(exchange);
+        JsonObject user = usersByEmail.get(string(body, "email"));
+        if (user == null || !string(user, "password").equals(string(body, "password"))) {
+            error(exchange, 401, "email or password are incorrect");
+            return;
+        }
+        send(exchange, 200, authResponse(user));
+    }
+
+    private void user(HttpExchange exchange) throws IOException {
+        String email = authorizedEmail(exchange);
+        JsonObject user = email == null ? null : usersByEmail.get(email);
+        if (user == null) {
+            error(exchange, 401, "You should be authorised");
+            return;
+        }
+        switch (exchange.getRequestMethod()) {
+            case "DELETE":
+                usersByEmail.remove(email);
+                ordersByEmail.remove(email);
+                JsonObject removed = new JsonObject();
+                removed.addProperty("success", true);
+                removed.addProperty("message", "User successfully removed");
+                send(exchange, 202, removed);
+                return;
+            case "PATCH":
+                JsonObject patch = readJson(exchange);
+                if (patch.has("name")) {
+                    user.addProperty("name", string(patch, "name"));
+                }
+                if (patch.has("password")) {
+                    user.addProperty("password", string(patch, "password"));
+                }
+                break;
+            default:
+                break;
+        }
+        JsonObject response = new JsonObject();
+        response.addProperty("success", true);
+        response.add("user", publicUser(user));
+        send(exchange, 200, response);
+    }
+
+    private void ingredients(HttpExchange exchange) throws IOException {
+        JsonArray data = new JsonArray();
+        data.add(ingredient(BUN_ID, "Краторная булка N-200i", "bun", 1255));
+        data.add(ingredient(SAUCE_ID, "Соус Spicy-X", "sauce", 90));
+        data.add(ingredient(MAIN_ID, "Биокотлета из марсианской Магнолии", "main", 424));
+        JsonObject response = new JsonObject();
+        response.addProperty("success", true);
+        response.add("data", data);
+        send(exchange, 200, response);
+    }
+
+    private void createOrder(HttpExchange exchange) throws IOException {
+        JsonObject body = readJson(exchange);
+        JsonArray ingredients = body.has("ingredients") ? body.getAsJsonArray("ingredients") : new JsonArray();
+        if (ingredients.size() == 0) {
+            error(exchange, 400, "Ingredient ids must be provided");
+            return;
+        }
+        for (JsonElement id : ingredients) {
+            String value = id.getAsString();
+            if (!BUN_ID.equals(value) && !SAUCE_ID.equals(value) && !MAIN_ID.equals(value)) {
+                sendRaw(exchange, 500, "text/html", "<pre>Internal Server Error</pre>");
+                return;
+            }
+        }
+        long number = orderNumbers.getAsLong();
+        JsonObject order = new JsonObject();
+        order.addProperty("_id", UUID.randomUUID().toString());
+        order.add("ingredients", ingredients);
+        order.addProperty("status", "done");
+        order.addProperty("name", "Краторный био-марсианский бургер");
+        order.addProperty("number", number);
+        order.addProperty("createdAt", java.time.Instant.now().toString());
+        order.addProperty("updatedAt", java.time.Instant.now().toString());
+
+        String email = authorizedEmail(exchange);
+        if (email != null && usersByEmail.containsKey(email)) {
+            ordersByEmail.computeIfAbsent(email, key -> Collections.synchronizedList(new ArrayList<>())).add(order);
+        } else {
+            email = null;
+        }
+
+        JsonObject created = new JsonObject();
+        created.addProperty("number", number);
+        JsonObject response = new JsonObject();
+        response.addProperty("success", true);
+        response.addProperty("name", "Краторный био-марсианский бургер");
+        response.add("order", created);
+        send(exchange, 200, response);
+        for (BiConsumer<String, JsonObject> listener : orderListeners) {
+            listener.accept(email, order);
+        }
+    }
+
+    private void userOrders(HttpExchange exchange) throws IOException {
+        String email = authorizedEmail(exchange);
+        if (email == null || !usersByEmail.containsKey(email)) {
+            error(exchange, 401, "You should be authorised");
+            return;
+        }
+        JsonArray orders = new JsonArray();
+        List<JsonObject> userOrders = ordersByEmail.getOrDefault(email, List.of());
+        synchronized (userOrders) {
+            userOrders.forEach(orders::add);
+        }
+        JsonObject response = new JsonObject();
+        response.addProperty("success", true);
+        response.add("orders", orders);
+        response.addProperty("total", orderSequence.get());
+        response.addProperty("totalToday", orders.size());
+        send(exchange, 200, response);
+    }
+
+    private JsonObject authResponse(JsonObject user) {
+        String token = UUID.randomUUID().toString();
+        emailsByToken.put(token, string(user, "email"));
+        JsonObject response = new JsonObject();
+        response.addProperty("success", true);
+        response.add("user", publicUser(user));
+        response.addProperty("accessToken", "Bearer " + token);
+        response.addProperty("refreshToken", UUID.randomUUID().toString());
+        return response;
+    }
+
+    private static JsonObject publicUser(JsonObject user) {
+        JsonObject result = new JsonObject();
+        result.addProperty("email", string(user, "email"));
+        result.addProperty("name", string(user, "name"));
+        return result;
+    }
+
+    private static JsonObject ingredient(String id, String name, String type, int price) {
+        JsonObject ingredient = new JsonObject();
+        ingredient.addProperty("_id", id);
+        ingredient.addProperty("name", name);
+        ingredient.addProperty("type", type);
+        ingredient.addProperty("price", price);
+        return ingredient;
+    }
+
+    private String authorizedEmail(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        return emailsByToken.get(header.substring("Bearer ".length()));
+    }
+
+    private static JsonObject readJson(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            String text = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            if (text.isBlank()) {
+                return new JsonObject();
+            }
+            JsonElement element = JsonParser.parseString(text);
+            return element.isJsonObject() ? element.getAsJsonObject() : new JsonObject();
+        }
+    }
+
+    private static String string(JsonObject object, String field) {
+        JsonElement value = object.get(field);
+        return value == null || value.isJsonNull() ? "" : value.getAsString();
+    }
+
+    private static void error(HttpExchange exchange, int status, String message) throws IOException {
+        JsonObject response = new JsonObject();
+        response.addProperty("success", false);
+        response.addProperty("message", message);
+        send(exchange, status, response);
+    }
+
+    private static void send(HttpExchange exchange, int status, JsonObject body) throws IOException {
+        sendRaw(exchange, status, "application/json; charset=utf-8", GSON.toJson(body));
+    }
+
+    private static void sendRaw(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}